@@ -0,0 +1,63 @@
+package org.jresearch.locale.langtag.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jresearch.locale.langtag.ImmutableLangTag;
+import org.jresearch.locale.langtag.LangTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Typical derivation chains: the {@code with*} methods, which validate the
+ * changed part only, against the generated {@code copyWith*} ones, which
+ * revalidate the whole tag on each step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@SuppressWarnings("nls")
+public class DerivationBenchmark {
+
+	@Param({ "en-GB", "de-CH-1901-u-co-phonebk", "ja-JP-u-ca-japanese-t-en-x-private" })
+	private String text;
+
+	private ImmutableLangTag tag;
+
+	@Setup
+	public void setup() {
+		tag = LangTag.parse(text);
+	}
+
+	@Benchmark
+	public LangTag withRegion() {
+		return tag.withRegion("US");
+	}
+
+	@Benchmark
+	public LangTag copyWithRegion() {
+		return tag.copyWithRegion("US");
+	}
+
+	@Benchmark
+	public LangTag withChain() {
+		return tag.withRegion("US").withVariants().withScript("Latn");
+	}
+
+	@Benchmark
+	public LangTag copyWithChain() {
+		return tag.copyWithRegion("US").copyWithVariants().copyWithScript("Latn");
+	}
+
+}
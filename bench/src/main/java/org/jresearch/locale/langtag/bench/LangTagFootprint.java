@@ -0,0 +1,68 @@
+package org.jresearch.locale.langtag.bench;
+
+import org.jresearch.locale.langtag.ImmutableLangTag;
+import org.jresearch.locale.langtag.LangTag;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Retained heap size per language tag, measured with JOL. Compares the tags
+ * holding their own copies of the subtag strings (as created from the
+ * substrings of the parsed text) with the parsed tags sharing the known
+ * subtags from the static table. The shared strings are counted once for all
+ * the tags, so the result is the cost of one more tag in a big collection.
+ * The size of the tag object itself is printed first, the tag must keep no
+ * derived state to stay at the baseline size.
+ *
+ * <pre>
+ * java -cp bench/target/benchmarks.jar org.jresearch.locale.langtag.bench.LangTagFootprint
+ * </pre>
+ */
+@SuppressWarnings("nls")
+public final class LangTagFootprint {
+
+	private static final int COUNT = 100_000;
+	private static final String[] TAGS = { "en", "en-US", "de-DE", "zh-Hans-CN", "sr-Latn-RS", "es-419", "pt-BR", "fr-CA" };
+
+	private LangTagFootprint() {
+		// main only
+	}
+
+	public static void main(String[] args) {
+		System.out.printf("ImmutableLangTag instance: %d bytes%n", ClassLayout.parseClass(ImmutableLangTag.class).instanceSize());
+		for (String text : TAGS) {
+			Object[] copies = new Object[COUNT];
+			Object[] parsed = new Object[COUNT];
+			for (int i = 0; i < COUNT; i++) {
+				copies[i] = copy(LangTag.parse(text));
+				parsed[i] = LangTag.parse(text);
+			}
+			System.out.printf("%-12s own strings: %4d bytes, shared: %4d bytes%n", text, perTag(copies), perTag(parsed));
+		}
+		System.out.println();
+		System.out.println(GraphLayout.parseInstance(LangTag.parse("zh-Hans-CN")).toFootprint());
+	}
+
+	/** Same tag with the own copy of each string, the way it was before the table */
+	private static LangTag copy(LangTag tag) {
+		return ImmutableLangTag.builder()
+				.primaryLanguage(own(tag.primaryLanguage()))
+				.script(own(tag.script()))
+				.region(own(tag.region()))
+				.build();
+	}
+
+	/**
+	 * {@code new String(String)} shares the value array, copy the chars instead.
+	 * The absent parts stay the shared empty string, as they were.
+	 */
+	private static String own(String s) {
+		return s.isEmpty() ? s : new String(s.toCharArray());
+	}
+
+	/** The elements are the roots, the array itself is not counted */
+	private static long perTag(Object[] tags) {
+		return GraphLayout.parseInstance(tags).totalSize() / tags.length;
+	}
+
+}
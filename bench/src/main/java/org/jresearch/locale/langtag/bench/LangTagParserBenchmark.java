@@ -0,0 +1,47 @@
+package org.jresearch.locale.langtag.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jresearch.locale.langtag.LangTag;
+import org.jresearch.locale.langtag.LangTagParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The static {@link LangTag#parse(String)} against the reusable
+ * {@link LangTagParser}. Run with {@code -prof gc} to compare the allocation
+ * per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@SuppressWarnings("nls")
+public class LangTagParserBenchmark {
+
+	@Param({ "en-US", "zh-Hans-CN", "sl-rozaj-biske-1994", "ja-JP-u-ca-japanese-x-private" })
+	private String text;
+
+	private final LangTagParser parser = new LangTagParser();
+
+	@Benchmark
+	public LangTag parse() {
+		return LangTag.parse(text);
+	}
+
+	@Benchmark
+	public LangTag parser() {
+		return parser.parse(text);
+	}
+
+}
@@ -0,0 +1,62 @@
+package org.jresearch.locale.langtag.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jresearch.locale.langtag.parser.ParserUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * ASCII classification and case mapping on the real life subtags (2-8
+ * characters, canonical and not canonical case).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@SuppressWarnings("nls")
+public class ParserUtilBenchmark {
+
+	private final String[] languages = { "en", "zh", "yue", "EN", "De", "FIL" };
+	private final String[] scripts = { "Latn", "Hant", "cyrl", "HANS" };
+	private final String[] others = { "US", "419", "rozaj", "1901", "islamcal", "arevela", "nu", "thai" };
+
+	@Benchmark
+	public void isLow(Blackhole bh) {
+		for (String s : languages) {
+			bh.consume(ParserUtil.isLow(s));
+		}
+	}
+
+	@Benchmark
+	public void low(Blackhole bh) {
+		for (String s : languages) {
+			bh.consume(ParserUtil.low(s));
+		}
+	}
+
+	@Benchmark
+	public void tit(Blackhole bh) {
+		for (String s : scripts) {
+			bh.consume(ParserUtil.tit(s));
+		}
+	}
+
+	@Benchmark
+	public void isAlphaNum(Blackhole bh) {
+		for (String s : others) {
+			bh.consume(ParserUtil.isAlphaNum(s));
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package org.jresearch.locale.langtag.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jresearch.locale.langtag.LangTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Java serialization round trip of a tag: the serialization proxy of
+ * {@link LangTag} against the default form of the same seven fields (the
+ * strings and three array lists, the way the Immutables class was written
+ * before the proxy). The serialized sizes are printed on the setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@SuppressWarnings("nls")
+public class SerializationBenchmark {
+
+	@Param({ "en-US", "zh-Hans-CN", "de-CH-1901", "ja-JP-u-ca-japanese" })
+	private String text;
+
+	private LangTag tag;
+	private DefaultForm defaultForm;
+
+	@Setup
+	public void setup() throws IOException {
+		tag = LangTag.parse(text);
+		defaultForm = new DefaultForm(tag);
+		System.out.printf("%n%s: proxy %d bytes, default form %d bytes%n", text, write(tag).length, write(defaultForm).length);
+	}
+
+	@Benchmark
+	public Object proxy() throws IOException, ClassNotFoundException {
+		return read(write(tag));
+	}
+
+	@Benchmark
+	public Object defaultForm() throws IOException, ClassNotFoundException {
+		return read(write(defaultForm));
+	}
+
+	private static byte[] write(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+	/** The fields of the tag in the default serialized form */
+	private static final class DefaultForm implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final String primaryLanguage;
+		private final List<String> languageSubtags;
+		private final String script;
+		private final String region;
+		private final List<String> variants;
+		private final List<String> extensions;
+		private final String privateUse;
+
+		DefaultForm(LangTag tag) {
+			primaryLanguage = tag.primaryLanguage();
+			languageSubtags = new ArrayList<>(tag.languageSubtags());
+			script = tag.script();
+			region = tag.region();
+			variants = new ArrayList<>(tag.variants());
+			extensions = new ArrayList<>(tag.extensions());
+			privateUse = tag.privateUse();
+		}
+
+	}
+
+}
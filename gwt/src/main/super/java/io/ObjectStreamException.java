@@ -0,0 +1,24 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package java.io;
+
+/**
+ * GWT emulation of the exception declared by the {@code readResolve} method
+ * Immutables generates for the serializable {@code ImmutableLangTag}. GWT has
+ * no Java serialization, nothing throws it on the client.
+ */
+public abstract class ObjectStreamException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	protected ObjectStreamException() {
+		super();
+	}
+
+	protected ObjectStreamException(String message) {
+		super(message);
+	}
+
+}
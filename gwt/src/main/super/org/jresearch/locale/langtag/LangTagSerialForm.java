@@ -0,0 +1,21 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * GWT version of the serialization proxy. GWT has no Java serialization, the
+ * tag is its own serial form.
+ */
+final class LangTagSerialForm {
+
+	private LangTagSerialForm() {
+		// static methods only
+	}
+
+	static Object of(LangTag tag) {
+		return tag;
+	}
+
+}
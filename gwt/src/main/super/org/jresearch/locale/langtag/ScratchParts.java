@@ -0,0 +1,23 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * GWT version of the parse collector. JavaScript is single threaded, so a
+ * static instance replaces the thread local one.
+ */
+final class ScratchParts {
+
+	private static final LangTag.Parts PARTS = new LangTag.Parts();
+
+	private ScratchParts() {
+		// static methods only
+	}
+
+	static LangTag.Parts get() {
+		return PARTS.reset();
+	}
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * GWT version of the known subtags table. JavaScript strings are values, the
+ * sharing saves nothing on the client, so the table data is not compiled into
+ * the application at all: every subtag is unknown and the parser brings it to
+ * the canonical case itself.
+ *
+ * <p>
+ * A data table needed on the client should be kept out of the initial download
+ * the same way: behind a {@code GWT.runAsync} split point or as a compact
+ * string decoded on the first use, never as a static initializer reachable from
+ * {@link LangTag#parse(String)}.
+ */
+final class Subtags {
+
+	static final Subtags LANGUAGES = new Subtags();
+	static final Subtags SCRIPTS = new Subtags();
+	static final Subtags REGIONS = new Subtags();
+
+	private Subtags() {
+		// no data
+	}
+
+	String find(CharSequence str, int from, int to) {
+		return null;
+	}
+
+	String intern(String subtag) {
+		return subtag;
+	}
+
+}
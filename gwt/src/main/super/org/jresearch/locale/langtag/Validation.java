@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.function.Supplier;
+
+/**
+ * GWT version of the trusted construction marker. JavaScript is single
+ * threaded, so a static flag replaces the thread local one.
+ */
+final class Validation {
+
+	private static boolean skipped;
+
+	private Validation() {
+		// static methods only
+	}
+
+	static boolean skipped() {
+		return skipped;
+	}
+
+	static <T> T skip(Supplier<T> factory) {
+		boolean outer = skipped;
+		skipped = true;
+		try {
+			return factory.get();
+		} finally {
+			skipped = outer;
+		}
+	}
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+/**
+ * GWT version of the parse latency time source. GWT has no
+ * {@link System#nanoTime()}, the browser high resolution clock (milliseconds
+ * with a fraction) is used.
+ */
+final class Clock {
+
+	private Clock() {
+		// static methods only
+	}
+
+	static long nanoTime() {
+		return (long) (now() * 1_000_000);
+	}
+
+	private static native double now() /*-{
+		return $wnd.performance && $wnd.performance.now ? $wnd.performance.now() : Date.now();
+	}-*/;
+
+}
@@ -0,0 +1,19 @@
+package org.jresearch.locale.langtag.parser;
+
+import jsinterop.annotations.JsPackage;
+import jsinterop.annotations.JsType;
+
+/**
+ * Native JavaScript regular expression, the character class checks of the GWT
+ * {@link ParserUtil} are single native calls.
+ */
+@JsType(isNative = true, name = "RegExp", namespace = JsPackage.GLOBAL)
+final class JsRegExp {
+
+	JsRegExp(String pattern) {
+		// native
+	}
+
+	native boolean test(String str);
+
+}
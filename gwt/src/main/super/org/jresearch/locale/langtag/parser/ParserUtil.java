@@ -0,0 +1,124 @@
+package org.jresearch.locale.langtag.parser;
+
+import java.util.function.Predicate;
+
+/**
+ * GWT version of the ASCII String methods. The string checks are native
+ * {@code RegExp.test} calls and the case mappings are native
+ * {@code toLowerCase}/{@code toUpperCase}, no per character loops in the
+ * compiled JavaScript. The results are the same as the JVM ones for the ASCII
+ * strings, the non ASCII subtags are rejected by the validation anyway.
+ */
+public class ParserUtil {
+
+	public static final Predicate<String> LOW_STR = ParserUtil::isLow;
+
+	private static final JsRegExp ALPHA = new JsRegExp("^[A-Za-z]*$");
+	private static final JsRegExp NUM = new JsRegExp("^[0-9]*$");
+	private static final JsRegExp ALPHA_NUM = new JsRegExp("^[A-Za-z0-9]*$");
+	private static final JsRegExp NO_UP = new JsRegExp("^[^A-Z]*$");
+	private static final JsRegExp NO_LOW = new JsRegExp("^[^a-z]*$");
+	private static final JsRegExp TIT = new JsRegExp("^([A-Z][a-z]*)?$");
+
+	private static boolean isUp(char c) {
+		return c >= 'A' && c <= 'Z';
+	}
+
+	private static char low(char c) {
+		return isUp(c) ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	public static boolean isNum(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	public static boolean isAlphaNum(char c) {
+		return isAlpha(c) || isNum(c);
+	}
+
+	public static boolean isAlpha(char c) {
+		return isUp(c) || c >= 'a' && c <= 'z';
+	}
+
+	public static boolean equalsIgnoreCase(char c1, char c2) {
+		return c1 == c2 || low(c1) == low(c2);
+	}
+
+	public static String tit(String str) {
+		return str.isEmpty() ? str : str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
+	}
+
+	public static boolean isTit(String str) {
+		return TIT.test(str);
+	}
+
+	public static String low(String str) {
+		return str.toLowerCase();
+	}
+
+	public static String up(String str) {
+		return str.toUpperCase();
+	}
+
+	public static boolean isAlpha(String str) {
+		return ALPHA.test(str);
+	}
+
+	public static boolean isNum(String str) {
+		return NUM.test(str);
+	}
+
+	public static boolean isAlphaNum(String str) {
+		return ALPHA_NUM.test(str);
+	}
+
+	public static boolean isLow(String str) {
+		return NO_UP.test(str);
+	}
+
+	public static boolean isUp(String str) {
+		return NO_LOW.test(str);
+	}
+
+	public static boolean isAlpha(CharSequence str, int from, int to) {
+		return ALPHA.test(range(str, from, to));
+	}
+
+	public static boolean isNum(CharSequence str, int from, int to) {
+		return NUM.test(range(str, from, to));
+	}
+
+	public static boolean isAlphaNum(CharSequence str, int from, int to) {
+		return ALPHA_NUM.test(range(str, from, to));
+	}
+
+	public static boolean isLow(CharSequence str, int from, int to) {
+		return NO_UP.test(range(str, from, to));
+	}
+
+	public static int lowerInto(CharSequence str, int from, int to, char[] dst, int offset) {
+		int pos = offset;
+		for (int i = from; i < to; i++) {
+			dst[pos++] = low(str.charAt(i));
+		}
+		return pos;
+	}
+
+	public static String low(CharSequence str, int from, int to) {
+		return range(str, from, to).toLowerCase();
+	}
+
+	public static String up(CharSequence str, int from, int to) {
+		return range(str, from, to).toUpperCase();
+	}
+
+	public static String tit(CharSequence str, int from, int to) {
+		return tit(range(str, from, to));
+	}
+
+	/** JavaScript substrings are cheap, the native check is on the substring */
+	private static String range(CharSequence str, int from, int to) {
+		return str instanceof String ? ((String) str).substring(from, to) : str.subSequence(from, to).toString();
+	}
+
+}
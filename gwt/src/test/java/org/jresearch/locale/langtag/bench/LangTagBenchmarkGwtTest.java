@@ -0,0 +1,103 @@
+package org.jresearch.locale.langtag.bench;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jresearch.locale.langtag.LangTag;
+import org.jresearch.locale.langtag.LangTagUtils;
+
+import com.google.gwt.junit.client.GWTTestCase;
+
+/**
+ * Throughput of the GWT compiled library. The tests run in the headless
+ * HtmlUnit browser (the {@code bench} profile, {@code mvn -P bench verify} in
+ * the {@code gwt} module) and log the operations per second to the browser
+ * console, which HtmlUnit prints to the test output.
+ */
+@SuppressWarnings("nls")
+public class LangTagBenchmarkGwtTest extends GWTTestCase {
+
+	private static final double WARMUP_MILLIS = 500;
+	private static final double MEASURE_MILLIS = 2000;
+
+	private static final String[] TAGS = { "en", "en-US", "zh-Hans-CN", "sl-rozaj-biske", "de-CH-1901", "ja-JP-u-ca-japanese", "en-x-private" };
+
+	/** Keeps the results alive, so the compiler can't drop the measured code */
+	private static Object sink;
+
+	@Override
+	public String getModuleName() {
+		return "org.jresearch.locale.langtag.bench.LangTagBenchmark";
+	}
+
+	public void testParse() {
+		report("parse", () -> {
+			for (String tag : TAGS) {
+				sink = LangTag.parse(tag);
+			}
+			return TAGS.length;
+		});
+	}
+
+	public void testToString() {
+		List<LangTag> tags = LangTagUtils.parseLangTagList(TAGS);
+		report("toString", () -> {
+			for (LangTag tag : tags) {
+				sink = tag.toString();
+			}
+			return tags.size();
+		});
+	}
+
+	public void testFind() {
+		Map<String, String> map = new HashMap<>();
+		map.put("month", "January");
+		for (String tag : TAGS) {
+			map.put("month#" + tag, tag);
+			map.put("day#" + tag, tag);
+		}
+		report("find", () -> {
+			sink = LangTagUtils.find("month", map);
+			return 1;
+		});
+	}
+
+	private static void report(String name, Operation operation) {
+		run(operation, WARMUP_MILLIS);
+		double opsPerSec = run(operation, MEASURE_MILLIS);
+		log("LangTag GWT benchmark " + name + ": " + Math.round(opsPerSec) + " ops/s");
+		assertTrue(name + " is not measured", opsPerSec > 0 && sink != null);
+	}
+
+	/**
+	 * @return the operations per second
+	 */
+	private static double run(Operation operation, double millis) {
+		long ops = 0;
+		double start = System.currentTimeMillis();
+		double elapsed;
+		do {
+			ops += operation.run();
+			elapsed = System.currentTimeMillis() - start;
+		} while (elapsed < millis);
+		return ops * 1000 / elapsed;
+	}
+
+	/**
+	 * System.out does nothing in the compiled code, the browser console is
+	 * printed to the test output by HtmlUnit
+	 */
+	private static native void log(String message) /*-{
+		$wnd.console.log(message);
+	}-*/;
+
+	@FunctionalInterface
+	private interface Operation {
+		/**
+		 * @return number of the operations done
+		 */
+		int run();
+	}
+
+}
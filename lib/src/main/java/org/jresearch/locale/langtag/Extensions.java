@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers to index the canonical extension strings
+ */
+final class Extensions {
+
+	private static final char SEP = '-';
+
+	private Extensions() {
+		// static methods only
+	}
+
+	/**
+	 * Returns the extension with the given singleton
+	 *
+	 * @return the extension or an empty string
+	 */
+	static String find(List<String> extensions, char singleton) {
+		for (String extension : extensions) {
+			if (extension.charAt(0) == singleton) {
+				return extension;
+			}
+		}
+		return "";
+	}
+
+	static int end(String extension, int from) {
+		int end = extension.indexOf(SEP, from);
+		return end < 0 ? extension.length() : end;
+	}
+
+	/**
+	 * Puts the key and the value (a substring from the extension) to the map, the
+	 * first occurrence of a key wins.
+	 */
+	static void put(Map<String, String> map, String key, String extension, int valueFrom, int valueTo) {
+		if (key != null && !map.containsKey(key)) {
+			map.put(key, valueFrom < valueTo ? extension.substring(valueFrom, valueTo) : "");
+		}
+	}
+
+	static List<String> list(List<String> list) {
+		return list.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(list);
+	}
+
+}
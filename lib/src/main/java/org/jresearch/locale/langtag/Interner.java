@@ -0,0 +1,129 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jresearch.locale.langtag.metrics.Metrics;
+
+/**
+ * Canonical instances of the language tags, the equal tags (e.g. read from a
+ * stream) become the same instance. The cache keeps the {@link #MAX_SIZE} most
+ * recently used tags, the least recently used one is evicted on overflow. A
+ * tag interned again after the eviction gets a new canonical instance, so the
+ * tags in use stay shared, the long unused ones may not.
+ *
+ * <p>
+ * The cache also keeps the truncation chains of the interned tags (see
+ * {@link LangTag#truncationChain()}), the tags themselves have no room for
+ * them.
+ */
+final class Interner {
+
+	static final String CACHE = "intern";
+
+	static final int MAX_SIZE = 4096;
+
+	/** Access ordered, guarded by itself */
+	private static final Map<LangTag, Interned> TAGS = new LinkedHashMap<LangTag, Interned>(64, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LangTag, Interned> eldest) {
+			return size() > MAX_SIZE;
+		}
+
+	};
+
+	private Interner() {
+		// static methods only
+	}
+
+	static LangTag intern(LangTag tag) {
+		return entry(tag).tag;
+	}
+
+	/**
+	 * @return the truncation chain of the tag, the parents are interned
+	 */
+	static List<LangTag> truncationChain(LangTag tag) {
+		Interned entry = entry(tag);
+		List<LangTag> chain = entry.chain();
+		return entry.tag == tag ? chain : chain(tag, chain, 1);
+	}
+
+	/**
+	 * @return the tag followed by the chain tags from the index
+	 */
+	private static List<LangTag> chain(LangTag tag, List<LangTag> rest, int from) {
+		if (from == rest.size()) {
+			return Collections.singletonList(tag);
+		}
+		List<LangTag> chain = new ArrayList<>(rest.size() - from + 1);
+		chain.add(tag);
+		chain.addAll(rest.subList(from, rest.size()));
+		return Collections.unmodifiableList(chain);
+	}
+
+	private static Interned entry(LangTag tag) {
+		Interned entry;
+		boolean hit;
+		synchronized (TAGS) {
+			entry = TAGS.get(tag);
+			hit = entry != null;
+			if (!hit) {
+				entry = new Interned(tag);
+				TAGS.put(tag, entry);
+			}
+		}
+		if (hit) {
+			Metrics.cacheHit(CACHE);
+		} else {
+			Metrics.cacheMiss(CACHE);
+		}
+		return entry;
+	}
+
+	/**
+	 * @return number of the cached tags
+	 */
+	static int size() {
+		synchronized (TAGS) {
+			return TAGS.size();
+		}
+	}
+
+	private static final class Interned {
+
+		final LangTag tag;
+		/** Built on the first request */
+		private volatile List<LangTag> chain;
+
+		Interned(LangTag tag) {
+			this.tag = tag;
+		}
+
+		/**
+		 * @return the chain of the canonical tag, made of the canonical tags
+		 */
+		List<LangTag> chain() {
+			List<LangTag> result = chain;
+			if (result == null) {
+				// equal chains may be built concurrently, any of them is fine
+				LangTag parent = tag.truncated();
+				result = parent == null ? Collections.singletonList(tag) : Interner.chain(tag, entry(parent).chain(), 0);
+				chain = result;
+			}
+			return result;
+		}
+
+	}
+
+}
@@ -21,8 +21,15 @@
 
 package org.jresearch.locale.langtag;
 
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -31,7 +38,10 @@ import org.immutables.value.Value;
 import org.immutables.value.Value.Check;
 import org.immutables.value.Value.Default;
 import org.immutables.value.Value.Immutable;
-import org.jresearch.locale.langtag.ImmutableLangTag.Builder;
+import org.immutables.value.Value.Parameter;
+import org.jresearch.locale.langtag.metrics.Failure;
+import org.jresearch.locale.langtag.metrics.LangTagMetrics;
+import org.jresearch.locale.langtag.metrics.Metrics;
 import org.jresearch.locale.langtag.parser.ParserUtil;
 
 /**
@@ -83,8 +93,11 @@ import org.jresearch.locale.langtag.parser.ParserUtil;
 @Immutable
 @SuppressWarnings({ "static-method", "nls" })
 //Due GWT disable annotation auto-discover (see https://github.com/immutables/immutables/issues/740)
-@Value.Style(allowedClasspathAnnotations = Override.class)
-public abstract class LangTag {
+//The generated copyWith* methods revalidate all the parts, the with* ones below only the changed part
+@Value.Style(allowedClasspathAnnotations = Override.class, with = "copyWith*")
+public abstract class LangTag implements Serializable {
+
+	private static final long serialVersionUID = 1L;
 
 	private static final char SEP = '-';
 	private static final char PRIVATE_USE = 'x';
@@ -94,6 +107,7 @@ public abstract class LangTag {
 	 * The primary language, as the shortest ISO 639 code (2*3ALPHA). Must always be
 	 * defined, unless sufficient language subtags exist.
 	 */
+	@Parameter
 	@Default
 	public String primaryLanguage() {
 		return "";
@@ -102,11 +116,13 @@ public abstract class LangTag {
 	/**
 	 * Optional extended language subtags, as three-letter ISO-639-3 codes.
 	 */
+	@Parameter
 	public abstract List<String> languageSubtags();
 
 	/**
 	 * Optional script, (4ALPHA) ISO 15924 code.
 	 */
+	@Parameter
 	@Default
 	public String script() {
 		return "";
@@ -115,6 +131,7 @@ public abstract class LangTag {
 	/**
 	 * Optional region, (2ALPHA) ISO 3166-1 code or (3DIGIT) UN M.49 code.
 	 */
+	@Parameter
 	@Default
 	public String region() {
 		return "";
@@ -123,21 +140,121 @@ public abstract class LangTag {
 	/**
 	 * Optional variants, (5*8alphanum) or (DIGIT 3alphanum).
 	 */
+	@Parameter
 	public abstract List<String> variants();
 
 	/**
 	 * Optional extensions.
 	 */
+	@Parameter
 	public abstract List<String> extensions();
 
 	/**
 	 * Optional private use subtag.
 	 */
+	@Parameter
 	@Default
 	public String privateUse() {
 		return "";
 	}
 
+	/**
+	 * Unicode locale extension ("u"). The tag keeps no copy, the extension is
+	 * parsed on each call, keep the result for the repeated lookups. The tags
+	 * without the extension get the shared empty instance without parsing.
+	 */
+	public UnicodeExtension unicodeExtension() {
+		return UnicodeExtension.of(Extensions.find(extensions(), UnicodeExtension.SINGLETON));
+	}
+
+	/**
+	 * Transformed content extension ("t"). The tag keeps no copy, the extension
+	 * is parsed on each call, keep the result for the repeated lookups. The tags
+	 * without the extension get the shared empty instance without parsing.
+	 */
+	public TransformedExtension transformedExtension() {
+		return TransformedExtension.of(Extensions.find(extensions(), TransformedExtension.SINGLETON));
+	}
+
+	/**
+	 * Returns the Unicode locale extension keyword type, e.g. "thai" for the "nu"
+	 * key of the {@code th-TH-u-nu-thai} tag.
+	 *
+	 * @param key the keyword key
+	 *
+	 * @return the type or {@code null} if there is no such keyword
+	 */
+	public String unicodeKeyword(String key) {
+		return unicodeExtension().keyword(key);
+	}
+
+	/**
+	 * The tag and its truncations for the
+	 * <a href="https://tools.ietf.org/html/rfc4647#section-3.4">RFC 4647</a>
+	 * lookup, the longest first: the last subtag is removed, and the singleton if
+	 * it is the last one after that, e.g. {@code zh-Hant-TW-x-foo},
+	 * {@code zh-Hant-TW}, {@code zh-Hant}, {@code zh}. The tag keeps no copy,
+	 * the chain is built once per equal tag and kept by the interned tag (see
+	 * {@link Interner}), the parents are interned and share their chains.
+	 */
+	public List<LangTag> truncationChain() {
+		return Interner.truncationChain(this);
+	}
+
+	/**
+	 * @return the first truncation of the tag, see {@link #truncationChain()},
+	 *         {@code null} for the primary language only tag
+	 */
+	public LangTag parent() {
+		List<LangTag> chain = truncationChain();
+		return chain.size() > 1 ? chain.get(1) : null;
+	}
+
+	/**
+	 * @return the tag without the last subtag or {@code null} if there is nothing
+	 *         to remove
+	 */
+	LangTag truncated() {
+		String pl = primaryLanguage();
+		List<String> ls = languageSubtags();
+		String sc = script();
+		String re = region();
+		List<String> va = variants();
+		List<String> ex = extensions();
+		String pu = privateUse();
+		if (!pu.isEmpty()) {
+			pu = truncated(pu);
+			return pl.isEmpty() && pu.isEmpty() ? null : trusted(pl, ls, sc, re, va, ex, pu);
+		}
+		if (!ex.isEmpty()) {
+			String last = truncated(ex.get(ex.size() - 1));
+			List<String> rest = ex.subList(0, ex.size() - 1);
+			return trusted(pl, ls, sc, re, va, last.isEmpty() ? rest : add(new ArrayList<>(rest), last), "");
+		}
+		if (!va.isEmpty()) {
+			return trusted(pl, ls, sc, re, va.subList(0, va.size() - 1), ex, pu);
+		}
+		if (!re.isEmpty()) {
+			return trusted(pl, ls, sc, "", va, ex, pu);
+		}
+		if (!sc.isEmpty()) {
+			return trusted(pl, ls, "", re, va, ex, pu);
+		}
+		if (!ls.isEmpty()) {
+			return trusted(pl, ls.subList(0, ls.size() - 1), sc, re, va, ex, pu);
+		}
+		return null;
+	}
+
+	/**
+	 * @return the singleton part without the last subtag, empty if only the
+	 *         singleton is left
+	 */
+	private static String truncated(String part) {
+		int end = part.lastIndexOf(SEP);
+		return end <= 1 ? "" : part.substring(0, end);
+	}
+
 	public String language() {
 		if (primaryLanguage().isEmpty()) {
 			return UNDETERMINED;
@@ -147,28 +264,61 @@ public abstract class LangTag {
 		return language.toString();
 	}
 
+	/**
+	 * The tag text, built on each call into an array of the exact size, the tag
+	 * keeps no copy. The primary language only and private use only tags return
+	 * their part as is.
+	 */
 	@Override
 	public String toString() {
-		if (!primaryLanguage().isEmpty()) {
-			StringBuilder tag = new StringBuilder(primaryLanguage());
-			add(languageSubtags(), tag);
-			add(this::script, tag);
-			add(this::region, tag);
-			add(variants(), tag);
-			add(extensions(), tag);
-			add(this::privateUse, tag);
-			return tag.toString();
-		} else if (!privateUse().isEmpty()) {
-			return privateUse();
+		String primaryLanguage = primaryLanguage();
+		if (primaryLanguage.isEmpty()) {
+			return privateUse().isEmpty() ? UNDETERMINED : privateUse();
+		}
+		int length = primaryLanguage.length() + length(languageSubtags()) + length(script()) + length(region()) + length(variants()) + length(extensions()) + length(privateUse());
+		if (length == primaryLanguage.length()) {
+			return primaryLanguage;
+		}
+		char[] text = new char[length];
+		primaryLanguage.getChars(0, primaryLanguage.length(), text, 0);
+		int pos = append(languageSubtags(), text, primaryLanguage.length());
+		pos = append(script(), text, pos);
+		pos = append(region(), text, pos);
+		pos = append(variants(), text, pos);
+		pos = append(extensions(), text, pos);
+		append(privateUse(), text, pos);
+		return new String(text);
+	}
+
+	/** @return the length of the part with the separator, 0 if it is absent */
+	private static int length(String part) {
+		return part.isEmpty() ? 0 : part.length() + 1;
+	}
+
+	private static int length(List<String> parts) {
+		int length = 0;
+		for (String part : parts) {
+			length += part.length() + 1;
+		}
+		return length;
+	}
+
+	/** @return the position after the separator and the part, if any */
+	private static int append(String part, char[] text, int pos) {
+		if (part.isEmpty()) {
+			return pos;
 		}
-		return UNDETERMINED;
+		text[pos] = SEP;
+		part.getChars(0, part.length(), text, pos + 1);
+		return pos + 1 + part.length();
 	}
 
-	private void add(Supplier<String> supplier, StringBuilder builder) {
-		String str = supplier.get();
-		if (!str.isEmpty()) {
-			builder.append(SEP).append(str);
+	private static int append(List<String> parts, char[] text, int pos) {
+		int end = pos;
+		for (String part : parts) {
+			end = append(part, text, end);
 		}
+		return end;
 	}
 
 	private void add(List<String> supplier, StringBuilder builder) {
@@ -178,9 +328,14 @@ public abstract class LangTag {
 	@Check
 	protected LangTag normalize() {
 
+		// Parsed tags are canonical already
+		if (Validation.skipped()) {
+			return this;
+		}
+
 		// Primary language
 		if (!ParserUtil.isLow(primaryLanguage())) {
-			return ImmutableLangTag.copyOf(this).withPrimaryLanguage(ParserUtil.low(primaryLanguage()));
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithPrimaryLanguage(ParserUtil.low(primaryLanguage())));
 		}
 
 		// language subtags
@@ -188,17 +343,17 @@ public abstract class LangTag {
 			List<String> subtags = languageSubtags().stream()
 					.map(ParserUtil::low)
 					.collect(Collectors.toList());
-			return ImmutableLangTag.copyOf(this).withLanguageSubtags(subtags);
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithLanguageSubtags(subtags));
 		}
 
 		// script
 		if (!ParserUtil.isTit(script())) {
-			return ImmutableLangTag.copyOf(this).withScript(ParserUtil.tit(script()));
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithScript(ParserUtil.tit(script())));
 		}
 
 		// region
 		if (!ParserUtil.isUp(region())) {
-			return ImmutableLangTag.copyOf(this).withRegion(ParserUtil.up(region()));
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithRegion(ParserUtil.up(region())));
 		}
 
 		// variants
@@ -206,7 +361,7 @@ public abstract class LangTag {
 			List<String> variants = variants().stream()
 					.map(ParserUtil::low)
 					.collect(Collectors.toList());
-			return ImmutableLangTag.copyOf(this).withVariants(variants);
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithVariants(variants));
 		}
 
 		// extension
@@ -214,19 +369,30 @@ public abstract class LangTag {
 			List<String> extensions = extensions().stream()
 					.map(ParserUtil::low)
 					.collect(Collectors.toList());
-			return ImmutableLangTag.copyOf(this).withExtensions(extensions);
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithExtensions(extensions));
 		}
 
 		// private use
 		if (!ParserUtil.isLow(privateUse())) {
-			return ImmutableLangTag.copyOf(this).withPrivateUse(ParserUtil.low(privateUse()));
+			return rebuilt(ImmutableLangTag.copyOf(this).copyWithPrivateUse(ParserUtil.low(privateUse())));
 		}
 
 		return this;
 	}
 
+	private static LangTag rebuilt(LangTag tag) {
+		Metrics.normalized();
+		return tag;
+	}
+
 	@Check
 	protected void check() {
+
+		// Parsed tags are validated during parsing
+		if (Validation.skipped()) {
+			return;
+		}
+
 		boolean pl = !primaryLanguage().isEmpty();
 		boolean ls = !languageSubtags().isEmpty();
 		boolean sc = !script().isEmpty();
@@ -238,48 +404,262 @@ public abstract class LangTag {
 		// Primary language specified or only private use part exists
 		if (!pl) {
 			if (!pu || ls || sc || re || va || ex) {
-				throw new IllegalArgumentException("Primary language can't be empty in such tag: " + toString());
+				throw fail(Failure.PRIMARY_LANGUAGE, "Primary language can't be empty in such tag: " + toString());
 			}
 		} else {
-			if (!isPrimaryLanguage(primaryLanguage())) {
-				throw new IllegalArgumentException("Wrong primary language part: " + primaryLanguage() + ", tag: " + toString());
+			if (!isPrimaryLanguage(primaryLanguage(), 0, primaryLanguage().length())) {
+				throw fail(Failure.PRIMARY_LANGUAGE, "Wrong primary language part: " + primaryLanguage() + ", tag: " + toString());
 			}
 		}
 
 		// language subtags
 		for (String languageSubtag : languageSubtags()) {
-			if (!isExtendedLanguageSubtag(languageSubtag)) {
-				throw new IllegalArgumentException("Wrong extended language subtag part: " + languageSubtag + ", tag: " + toString());
+			if (!isExtendedLanguageSubtag(languageSubtag, 0, languageSubtag.length())) {
+				throw fail(Failure.EXTENDED_LANGUAGE, "Wrong extended language subtag part: " + languageSubtag + ", tag: " + toString());
 			}
 		}
 
 		// script
-		if (sc && !isScript(script())) {
-			throw new IllegalArgumentException("Wrong script part: " + script() + ", tag: " + toString());
+		if (sc && !isScript(script(), 0, script().length())) {
+			throw fail(Failure.SCRIPT, "Wrong script part: " + script() + ", tag: " + toString());
 		}
 
 		// region
-		if (re && !isRegion(region())) {
-			throw new IllegalArgumentException("Wrong region part: " + region() + ", tag: " + toString());
+		if (re && !isRegion(region(), 0, region().length())) {
+			throw fail(Failure.REGION, "Wrong region part: " + region() + ", tag: " + toString());
 		}
 
 		// variants
 		for (String variant : variants()) {
-			if (!isVariant(variant)) {
-				throw new IllegalArgumentException("Wrong variant part: " + variant + ", tag: " + toString());
+			if (!isVariant(variant, 0, variant.length())) {
+				throw fail(Failure.VARIANT, "Wrong variant part: " + variant + ", tag: " + toString());
 			}
 		}
 
 		// extension
-		extensions().forEach(LangTag::checkExtension);
+		for (String extension : extensions()) {
+			if (!isExtension(extension)) {
+				throw fail(Failure.EXTENSION, "Wrong extension part: " + extension + ", tag: " + toString());
+			}
+		}
 
 		// private use
-		if (pu) {
-			checkPrivateUse(privateUse());
+		if (pu && !isPrivateUsePart(privateUse())) {
+			throw fail(Failure.PRIVATE_USE, "Wrong private use part: " + privateUse() + ", tag: " + toString());
 		}
 
 	}
 
+	/**
+	 * Copies the tag with the new primary language. Only the new part is validated
+	 * and brought to the canonical case, the other parts are shared.
+	 *
+	 * @param primaryLanguage the primary language, empty for the private use only
+	 *                        tag
+	 *
+	 * @return the new tag or this one if the part is the same
+	 *
+	 * @throws IllegalArgumentException If the part is invalid.
+	 */
+	public ImmutableLangTag withPrimaryLanguage(String primaryLanguage) {
+		if (primaryLanguage.isEmpty()) {
+			if (privateUse().isEmpty() || !languageSubtags().isEmpty() || !script().isEmpty() || !region().isEmpty() || !variants().isEmpty() || !extensions().isEmpty()) {
+				throw fail(Failure.PRIMARY_LANGUAGE, "Primary language can't be empty in such tag: " + toString());
+			}
+		} else if (!isPrimaryLanguage(primaryLanguage, 0, primaryLanguage.length())) {
+			throw fail(Failure.PRIMARY_LANGUAGE, "Wrong primary language part: " + primaryLanguage + ", tag: " + toString());
+		}
+		String value = canonical(Subtags.LANGUAGES, primaryLanguage, 0, primaryLanguage.length(), ParserUtil::low);
+		return derived(() -> self().copyWithPrimaryLanguage(value));
+	}
+
+	/**
+	 * Copies the tag with the new extended language subtags, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withLanguageSubtags(String... languageSubtags) {
+		return withLanguageSubtags(Arrays.asList(languageSubtags));
+	}
+
+	/**
+	 * Copies the tag with the new extended language subtags, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withLanguageSubtags(Iterable<String> languageSubtags) {
+		List<String> value = subtags(languageSubtags, v -> isExtendedLanguageSubtag(v, 0, v.length()), Failure.EXTENDED_LANGUAGE, "extended language subtag");
+		return derived(() -> self().copyWithLanguageSubtags(value));
+	}
+
+	/**
+	 * Copies the tag with the new script, see {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withScript(String script) {
+		String value = canonical(Subtags.SCRIPTS, subtag(script, v -> isScript(v, 0, v.length()), Failure.SCRIPT, "script"), 0, script.length(), ParserUtil::tit);
+		return derived(() -> self().copyWithScript(value));
+	}
+
+	/**
+	 * Copies the tag with the new region, see {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withRegion(String region) {
+		String value = canonical(Subtags.REGIONS, subtag(region, v -> isRegion(v, 0, v.length()), Failure.REGION, "region"), 0, region.length(), ParserUtil::up);
+		return derived(() -> self().copyWithRegion(value));
+	}
+
+	/**
+	 * Copies the tag with the new variants, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withVariants(String... variants) {
+		return withVariants(Arrays.asList(variants));
+	}
+
+	/**
+	 * Copies the tag with the new variants, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withVariants(Iterable<String> variants) {
+		List<String> value = subtags(variants, v -> isVariant(v, 0, v.length()), Failure.VARIANT, "variant");
+		return derived(() -> self().copyWithVariants(value));
+	}
+
+	/**
+	 * Copies the tag with the new extensions, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withExtensions(String... extensions) {
+		return withExtensions(Arrays.asList(extensions));
+	}
+
+	/**
+	 * Copies the tag with the new extensions, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withExtensions(Iterable<String> extensions) {
+		List<String> value = subtags(extensions, LangTag::isExtension, Failure.EXTENSION, "extension");
+		return derived(() -> self().copyWithExtensions(value));
+	}
+
+	/**
+	 * Copies the tag with the new private use part, see
+	 * {@link #withPrimaryLanguage(String)}.
+	 */
+	public ImmutableLangTag withPrivateUse(String privateUse) {
+		if (privateUse.isEmpty() && primaryLanguage().isEmpty()) {
+			throw fail(Failure.PRIMARY_LANGUAGE, "Primary language can't be empty in such tag: " + toString());
+		}
+		if (!privateUse.isEmpty() && !isPrivateUsePart(privateUse)) {
+			throw fail(Failure.PRIVATE_USE, "Wrong private use part: " + privateUse + ", tag: " + toString());
+		}
+		String value = ParserUtil.low(privateUse);
+		return derived(() -> self().copyWithPrivateUse(value));
+	}
+
+	/** All the tags are generated immutable ones */
+	private ImmutableLangTag self() {
+		return (ImmutableLangTag) this;
+	}
+
+	/** Creates the derived tag, the new part is valid and canonical already */
+	private static ImmutableLangTag derived(Supplier<ImmutableLangTag> factory) {
+		return Validation.skip(factory);
+	}
+
+	/**
+	 * Validates the new optional part, the primary language is required for it
+	 *
+	 * @return the part as is
+	 */
+	private String subtag(String value, Predicate<String> syntax, Failure reason, String name) {
+		if (!value.isEmpty()) {
+			if (primaryLanguage().isEmpty()) {
+				throw fail(Failure.PRIMARY_LANGUAGE, "Primary language can't be empty in such tag: " + toString());
+			}
+			if (!syntax.test(value)) {
+				throw fail(reason, "Wrong " + name + " part: " + value + ", tag: " + toString());
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Validates the new repeated part, the primary language is required for it
+	 *
+	 * @return the lower case subtags
+	 */
+	private List<String> subtags(Iterable<String> values, Predicate<String> syntax, Failure reason, String name) {
+		List<String> result = Collections.emptyList();
+		for (String value : values) {
+			result = add(result, ParserUtil.low(subtag(Objects.requireNonNull(value), syntax, reason, name)));
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if the specified string is a whole extension, e.g. u-usercal.
+	 */
+	static boolean isExtension(String extension) {
+		return isExtensionSingleton(extension, 0, end(extension, 0)) && parseExtension(extension, 0) == extension.length();
+	}
+
+	/**
+	 * Checks if the specified string is a whole private use part, e.g. x-abc.
+	 */
+	static boolean isPrivateUsePart(String privateUse) {
+		return isPrivateUseSingleton(privateUse, 0, end(privateUse, 0)) && parsePrivateUse(privateUse, 0) == privateUse.length();
+	}
+
+	/**
+	 * Returns the Java locale for this tag. The locale is cached, the same
+	 * instance is returned for the equal tags. JVM only.
+	 *
+	 * @return the locale
+	 */
+	@GwtIncompatible
+	public Locale toLocale() {
+		return Locales.toLocale(this);
+	}
+
+	/**
+	 * Returns the language tag for the Java locale. The tag is cached, the same
+	 * instance is returned for the equal locales. JVM only.
+	 *
+	 * @param locale the locale, must not be {@code null}
+	 *
+	 * @return the language tag
+	 *
+	 * @throws IllegalArgumentException If the locale has no valid language tag
+	 *                                  (e.g. ill-formed variants).
+	 */
+	@GwtIncompatible
+	public static LangTag fromLocale(Locale locale) {
+		return Locales.fromLocale(locale);
+	}
+
+	/**
+	 * Serializes the tag as the packed code or the canonical text, the tags are
+	 * interned on read.
+	 *
+	 * @return the serialization proxy
+	 */
+	protected Object writeReplace() {
+		return LangTagSerialForm.of(this);
+	}
+
+	/**
+	 * The tags are serialized through the proxy only, a stream with the tag
+	 * fields would skip the checks.
+	 */
+	@GwtIncompatible
+	private void readObject(@SuppressWarnings("unused") ObjectInputStream in) throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+
+	@GwtIncompatible
+	private void readObjectNoData() throws InvalidObjectException {
+		throw new InvalidObjectException("Proxy required");
+	}
+
 	/**
 	 * Parses the specified string representation of a language tag.
 	 *
@@ -294,228 +674,466 @@ public abstract class LangTag {
 		if (s == null || s.trim().isEmpty())
 			return null;
 
-		final String[] subtags = s.split(String.valueOf(SEP));
+		if (!Metrics.enabled()) {
+			return parseTag(s);
+		}
+		LangTagMetrics metrics = Metrics.get();
+		long start = metrics.timed() ? Metrics.nanoTime() : 0;
+		ImmutableLangTag tag = parseTag(s);
+		metrics.parsed();
+		if (metrics.timed()) {
+			metrics.parseTime(Metrics.nanoTime() - start);
+		}
+		return tag;
+	}
 
-		int pos = 0;
+	private static ImmutableLangTag parseTag(final String s) {
+		Parts parts = ScratchParts.get();
+		scan(s, parts);
+		return parts.toLangTag(s);
+	}
+
+	/**
+	 * Validates the language tag and reports its subtags to the visitor, nothing is
+	 * created. The subtags after the visitor stop are not validated.
+	 *
+	 * @param s       The text to scan. Must not be {@code null}.
+	 * @param visitor The subtag visitor. Must not be {@code null}.
+	 *
+	 * @return {@code true} if the whole tag is scanned, {@code false} if the
+	 *         visitor stopped the scan.
+	 *
+	 * @throws IllegalArgumentException If the text has invalid language tag
+	 *                                  syntax.
+	 */
+	public static boolean scan(final CharSequence s, final SubtagVisitor visitor) {
+		int len = s.length();
+		int from = 0;
+		int to = end(s, from);
 
 		// Parse primary lang + ext lang subtags
-		if (!isPrimaryLanguage(subtags[0])) {
-			throw new IllegalArgumentException("Can't parce tag " + s + ". The value " + subtags[0] + " is not a primary language");
+		if (!isPrimaryLanguage(s, from, to)) {
+			throw fail(Failure.PRIMARY_LANGUAGE, "Can't parce tag " + s + ". The value " + s.subSequence(from, to) + " is not a primary language");
 		}
-		String primaryLang = subtags[pos++];
+		if (!visitor.visit(SubtagType.LANGUAGE, s, from, to)) {
+			return false;
+		}
+		from = to + 1;
+		to = end(s, from);
 
 		// Multiple ext lang subtags possible
-		List<String> extLangSubtags = new ArrayList<>();
-		while (pos < subtags.length && isExtendedLanguageSubtag(subtags[pos])) {
-			extLangSubtags.add(subtags[pos++]);
+		while (isExtendedLanguageSubtag(s, from, to)) {
+			if (!visitor.visit(SubtagType.EXTLANG, s, from, to)) {
+				return false;
+			}
+			from = to + 1;
+			to = end(s, from);
 		}
 
-		Builder builder = ImmutableLangTag.builder()
-				.primaryLanguage(primaryLang)
-				.languageSubtags(extLangSubtags);
-
 		// Parse script
-		if (pos < subtags.length && isScript(subtags[pos]))
-			builder.script(subtags[pos++]);
+		if (isScript(s, from, to)) {
+			if (!visitor.visit(SubtagType.SCRIPT, s, from, to)) {
+				return false;
+			}
+			from = to + 1;
+			to = end(s, from);
+		}
 
 		// Parse region
-		if (pos < subtags.length && isRegion(subtags[pos]))
-			builder.region(subtags[pos++]);
+		if (isRegion(s, from, to)) {
+			if (!visitor.visit(SubtagType.REGION, s, from, to)) {
+				return false;
+			}
+			from = to + 1;
+			to = end(s, from);
+		}
 
 		// Parse variants
-		List<String> variantSubtags = new ArrayList<>();
-		while (pos < subtags.length && isVariant(subtags[pos])) {
-			variantSubtags.add(subtags[pos++]);
+		while (isVariant(s, from, to)) {
+			if (!visitor.visit(SubtagType.VARIANT, s, from, to)) {
+				return false;
+			}
+			from = to + 1;
+			to = end(s, from);
 		}
-		builder.variants(variantSubtags);
 
-		// Parse extensions, e.g. u-usercal
-		pos = parseExtension(subtags, pos, builder);
-
-		// Parse private use, e.g. x-abc
-		pos = parsePrivateUse(subtags, pos, builder);
+		// Parse extensions, e.g. u-usercal, up to the next singleton
+		while (isExtensionSingleton(s, from, to)) {
+			if (!visitor.visit(SubtagType.EXTENSION_SINGLETON, s, from, to)) {
+				return false;
+			}
+			int start = from;
+			from = to + 1;
+			if (from > len) {
+				throw fail(Failure.EXTENSION, "There is no extension after extension singelton. Position is " + start);
+			}
+			to = end(s, from);
+			do {
+				if (!isExtensionSubtag(s, from, to)) {
+					throw fail(Failure.EXTENSION, "The value " + s.subSequence(from, to) + " is not a extension. Position is " + from);
+				}
+				if (!visitor.visit(SubtagType.EXTENSION, s, from, to)) {
+					return false;
+				}
+				from = to + 1;
+				to = end(s, from);
+			} while (from <= len && to - from != 1);
+		}
 
-		// End of tag?
-		if (pos < subtags.length) {
-			throw new IllegalArgumentException("Invalid language tag " + s + ". There is something after expected end. Position is " + pos);
+		// Parse private use, e.g. x-abc, always the last one
+		if (isPrivateUseSingleton(s, from, to)) {
+			if (!visitor.visit(SubtagType.PRIVATE_USE_SINGLETON, s, from, to)) {
+				return false;
+			}
+			int start = from;
+			from = to + 1;
+			if (from > len) {
+				throw fail(Failure.PRIVATE_USE, "There is no privat use part after private use singelton. Position is " + start);
+			}
+			do {
+				to = end(s, from);
+				if (!isPrivateUse(s, from, to)) {
+					throw fail(Failure.PRIVATE_USE, "The value " + s.subSequence(from, to) + " is not a pricate use part. Position is " + from);
+				}
+				if (!visitor.visit(SubtagType.PRIVATE_USE, s, from, to)) {
+					return false;
+				}
+				from = to + 1;
+			} while (from <= len);
 		}
 
-		return builder.build();
+		// End of tag? The position is after the string end if all subtags are parsed
+		if (from <= len) {
+			throw fail(Failure.TRAILING, "Invalid language tag " + s + ". There is something after expected end. Position is " + from);
+		}
+		return true;
 	}
 
-	// Parse extensions, e.g. u-usercal
-	private static int parseExtension(final String[] subtags, int position, Builder builder) {
-		int pos = position;
-		while (pos < subtags.length && isExtensionSingleton(subtags[pos])) {
-			String singleton = subtags[pos++];
-			if (pos == subtags.length) {
-				throw new IllegalArgumentException("There is no extension after extension singelton. Position is " + pos);
-			}
+	/**
+	 * Collects the scanned subtags in the canonical case. The collector can be
+	 * reused after {@link #reset()}, the lists are allocated on the first value
+	 * and kept, the tag copies them.
+	 */
+	static final class Parts implements SubtagVisitor {
+
+		private String primaryLanguage;
+		private List<String> languageSubtags = Collections.emptyList();
+		private String script = "";
+		private String region = "";
+		private List<String> variants = Collections.emptyList();
+		private List<String> extensions = Collections.emptyList();
+		/** The current extension or private use range, -1 if none */
+		private int partFrom = -1;
+		private int partTo;
+		private boolean privateUse;
+
+		Parts reset() {
+			languageSubtags.clear();
+			script = "";
+			region = "";
+			variants.clear();
+			extensions.clear();
+			partFrom = -1;
+			return this;
+		}
 
-			String part = subtags[pos++];
-			if (!isExtensionSubtag(part)) {
-				throw new IllegalArgumentException("The value " + part + " is not a extension. Position is " + pos);
-			}
-			String subtag = singleton + SEP + part;
-			while (pos < subtags.length && !subtags[pos].equals("x") && !isExtensionSingleton(subtags[pos])) {
-				part = subtags[pos++];
-				if (!isExtensionSubtag(part)) {
-					throw new IllegalArgumentException("The value " + part + " is not a extension. Position is " + pos);
-				}
-				subtag += SEP + part;
+		@Override
+		public boolean visit(SubtagType type, CharSequence s, int from, int to) {
+			switch (type) {
+			case LANGUAGE:
+				primaryLanguage = canonical(Subtags.LANGUAGES, s, from, to, ParserUtil::low);
+				break;
+			case EXTLANG:
+				languageSubtags = append(languageSubtags, low(s, from, to));
+				break;
+			case SCRIPT:
+				script = canonical(Subtags.SCRIPTS, s, from, to, ParserUtil::tit);
+				break;
+			case REGION:
+				region = canonical(Subtags.REGIONS, s, from, to, ParserUtil::up);
+				break;
+			case VARIANT:
+				variants = append(variants, low(s, from, to));
+				break;
+			case EXTENSION_SINGLETON:
+			case PRIVATE_USE_SINGLETON:
+				flush(s);
+				partFrom = from;
+				privateUse = type == SubtagType.PRIVATE_USE_SINGLETON;
+				break;
+			default:
+				partTo = to;
 			}
-			if (builder != null) {
-				builder.addExtensions(subtag);
+			return true;
+		}
+
+		private void flush(CharSequence s) {
+			if (partFrom >= 0 && !privateUse) {
+				extensions = append(extensions, low(s, partFrom, partTo));
+				partFrom = -1;
 			}
 		}
-		return pos;
+
+		ImmutableLangTag toLangTag(CharSequence s) {
+			flush(s);
+			String privateUsePart = partFrom >= 0 ? low(s, partFrom, partTo) : "";
+			return trusted(primaryLanguage, languageSubtags, script, region, variants, extensions, privateUsePart);
+		}
+
+		/** Unlike {@link LangTag#add(List, String)} keeps the emptied list */
+		private static List<String> append(List<String> list, String value) {
+			List<String> result = list == Collections.<String> emptyList() ? new ArrayList<>(2) : list;
+			result.add(value);
+			return result;
+		}
+
+		private static String low(CharSequence s, int from, int to) {
+			return ParserUtil.low(s, from, to);
+		}
+
 	}
 
-	private static void checkPrivateUse(String privateUse) {
-		parseExtension(privateUse.split(String.valueOf(SEP)), 0, null);
+	/**
+	 * Reads back the text of any valid tag (see {@link #toString()}), unlike
+	 * {@link #parse(String)} including the private use only one, e.g.
+	 * {@code x-foo}.
+	 *
+	 * @throws IllegalArgumentException If the text is not a valid tag.
+	 */
+	static ImmutableLangTag read(String text) {
+		if (isPrivateUseSingleton(text, 0, end(text, 0))) {
+			return ImmutableLangTag.of("", Collections.emptyList(), "", "", Collections.emptyList(), Collections.emptyList(), text);
+		}
+		ImmutableLangTag tag = parse(text);
+		if (tag == null) {
+			throw fail(Failure.PRIMARY_LANGUAGE, "Empty language tag");
+		}
+		return tag;
 	}
 
-	// Parse private use, e.g. x-abc
-	private static int parsePrivateUse(final String[] subtags, int position, Builder builder) {
-		int pos = position;
-		if (pos < subtags.length && isPrivateUseSingleton(subtags[pos])) {
-			if (++pos == subtags.length) {
-				throw new IllegalArgumentException("There is no privat use part after private use singelton. Position is " + pos);
-			}
-			String part = subtags[pos++];
-			if (!isPrivateUse(part)) {
-				throw new IllegalArgumentException("The value " + part + " is not a pricate use part. Position is " + pos);
-			}
-			String subtag = "" + PRIVATE_USE + SEP + part;
-			while (pos < subtags.length) {
-				part = subtags[pos++];
-				if (!isPrivateUse(part)) {
-					throw new IllegalArgumentException("The value " + part + " is not a pricate use part. Position is " + pos);
-				}
-				subtag += SEP + part;
+	/**
+	 * Returns the known subtag string from the static table or the subtag
+	 * converted to the canonical case
+	 */
+	static String canonical(Subtags known, CharSequence s, int from, int to, CanonicalCase canonicalCase) {
+		String subtag = known.find(s, from, to);
+		return subtag != null ? subtag : canonicalCase.apply(s, from, to);
+	}
+
+	/**
+	 * Converts a subtag range to its canonical case, e.g.
+	 * {@link ParserUtil#low(CharSequence, int, int)}
+	 */
+	interface CanonicalCase {
+		String apply(CharSequence s, int from, int to);
+	}
+
+	/**
+	 * Adds the value to the list, the shared empty list is replaced with a new
+	 * one on the first value
+	 */
+	static List<String> add(List<String> list, String value) {
+		List<String> result = list.isEmpty() ? new ArrayList<>(2) : list;
+		result.add(value);
+		return result;
+	}
+
+	/**
+	 * Reports the failure to the metrics and creates the exception to throw.
+	 */
+	static IllegalArgumentException fail(Failure reason, String message) {
+		Metrics.failed(reason);
+		return new IllegalArgumentException(message);
+	}
+
+	/**
+	 * Returns the end (exclusive) of the subtag started at the specified position.
+	 */
+	static int end(final CharSequence s, int from) {
+		int len = s.length();
+		int end = from;
+		while (end < len && s.charAt(end) != SEP) {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * Validates the extension started with the singleton at the specified position
+	 * (e.g. u-usercal).
+	 *
+	 * @return the end (exclusive) of the extension
+	 */
+	static int parseExtension(final CharSequence s, int start) {
+		int len = s.length();
+		int from = end(s, start) + 1;
+		if (from > len) {
+			throw fail(Failure.EXTENSION, "There is no extension after extension singelton. Position is " + start);
+		}
+		int to = end(s, from);
+		if (!isExtensionSubtag(s, from, to)) {
+			throw fail(Failure.EXTENSION, "The value " + s.subSequence(from, to) + " is not a extension. Position is " + from);
+		}
+		while (to < len) {
+			from = to + 1;
+			int end = end(s, from);
+			if (end - from == 1) {
+				// next singleton
+				break;
 			}
-			if (builder != null) {
-				builder.privateUse(subtag);
+			if (!isExtensionSubtag(s, from, end)) {
+				throw fail(Failure.EXTENSION, "The value " + s.subSequence(from, end) + " is not a extension. Position is " + from);
 			}
+			to = end;
 		}
-		return pos;
+		return to;
 	}
 
-	private static void checkExtension(String extension) {
-		parseExtension(extension.split(String.valueOf(SEP)), 0, null);
+	/**
+	 * Validates the private use part started with the singleton at the specified
+	 * position (e.g. x-abc). The private use part is always the last one.
+	 *
+	 * @return the end (exclusive) of the private use part
+	 */
+	static int parsePrivateUse(final CharSequence s, int start) {
+		int len = s.length();
+		int from = end(s, start) + 1;
+		if (from > len) {
+			throw fail(Failure.PRIVATE_USE, "There is no privat use part after private use singelton. Position is " + start);
+		}
+		do {
+			int to = end(s, from);
+			if (!isPrivateUse(s, from, to)) {
+				throw fail(Failure.PRIVATE_USE, "The value " + s.subSequence(from, to) + " is not a pricate use part. Position is " + from);
+			}
+			from = to + 1;
+		} while (from <= len);
+		return len;
 	}
 
 	/**
 	 * Checks if the specified string has a valid primary language subtag syntax.
 	 *
-	 * @param s The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isPrimaryLanguage(final String str) {
-		return is(str, 2, 8, ParserUtil::isAlpha);
+	static boolean isPrimaryLanguage(final CharSequence s, int from, int to) {
+		return is(from, to, 2, 8) && ParserUtil.isAlpha(s, from, to);
 	}
 
 	/**
 	 * Checks if the specified string has a valid extended language subtag syntax.
 	 *
-	 * @param s The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isExtendedLanguageSubtag(final String str) {
-		return is(str, 3, ParserUtil::isAlpha);
+	static boolean isExtendedLanguageSubtag(final CharSequence s, int from, int to) {
+		return to - from == 3 && ParserUtil.isAlpha(s, from, to);
 	}
 
 	/**
 	 * Checks if the specified string has a valid script subtag syntax.
 	 *
-	 * @param s The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isScript(final String str) {
-		return is(str, 4, ParserUtil::isAlpha);
+	static boolean isScript(final CharSequence s, int from, int to) {
+		return to - from == 4 && ParserUtil.isAlpha(s, from, to);
 	}
 
 	/**
 	 * Checks if the specified string has a valid region subtag syntax.
 	 *
-	 * @param s The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isRegion(final String str) {
-		return is(str, 2, ParserUtil::isAlpha) || is(str, 3, ParserUtil::isNum);
+	static boolean isRegion(final CharSequence s, int from, int to) {
+		int len = to - from;
+		return len == 2 && ParserUtil.isAlpha(s, from, to) || len == 3 && ParserUtil.isNum(s, from, to);
 	}
 
 	/**
 	 * Checks if the specified string has a valid variant subtag syntax.
 	 *
-	 * @param s The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isVariant(final String str) {
-		return is(str, 4, v -> ParserUtil.isNum(v.charAt(0))
-				&& ParserUtil.isAlphaNum(v.charAt(1))
-				&& ParserUtil.isAlphaNum(v.charAt(2))
-				&& ParserUtil.isAlphaNum(v.charAt(3)))
-				||
-				is(str, 5, 8, ParserUtil::isAlphaNum);
+	static boolean isVariant(final CharSequence s, int from, int to) {
+		int len = to - from;
+		return len == 4 && ParserUtil.isNum(s.charAt(from)) && ParserUtil.isAlphaNum(s, from + 1, to)
+				|| is(from, to, 5, 8) && ParserUtil.isAlphaNum(s, from, to);
 	}
 
 	/**
 	 * Checks if the specified string has a valid extension singleton syntax.
 	 *
-	 * @param str The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isExtensionSingleton(final String str) {
-		return is(str, 1, v -> !ParserUtil.equalsIgnoreCase(PRIVATE_USE, v.charAt(0)) && ParserUtil.isAlpha(v.charAt(0)));
+	static boolean isExtensionSingleton(final CharSequence s, int from, int to) {
+		return to - from == 1 && !ParserUtil.equalsIgnoreCase(PRIVATE_USE, s.charAt(from)) && ParserUtil.isAlpha(s.charAt(from));
 	}
 
 	/**
 	 * Checks if the specified string has a valid extension subtag syntax.
 	 *
-	 * @param str The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isExtensionSubtag(final String str) {
-		return is(str, 2, 8, ParserUtil::isAlphaNum);
+	static boolean isExtensionSubtag(final CharSequence s, int from, int to) {
+		return is(from, to, 2, 8) && ParserUtil.isAlphaNum(s, from, to);
 	}
 
 	/**
 	 * Checks if the specified string has a valid private use singleton syntax.
 	 *
-	 * @param str The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isPrivateUseSingleton(final String str) {
-		return is(str, 1, v -> ParserUtil.equalsIgnoreCase(PRIVATE_USE, v.charAt(0)));
+	static boolean isPrivateUseSingleton(final CharSequence s, int from, int to) {
+		return to - from == 1 && ParserUtil.equalsIgnoreCase(PRIVATE_USE, s.charAt(from));
 	}
 
 	/**
 	 * Checks if the specified string has a valid private use subtag syntax.
 	 *
-	 * @param str The string to check. Must not be {@code null}.
+	 * @param s    The string to check. Must not be {@code null}.
+	 * @param from The subtag start.
+	 * @param to   The subtag end (exclusive).
 	 *
 	 * @return {@code true} if the syntax is correct, else {@code false}.
 	 */
-	private static boolean isPrivateUse(final String str) {
-		return is(str, 1, 8, ParserUtil::isAlphaNum);
-	}
-
-	private static boolean is(final String str, int min, int max, Predicate<String> check) {
-		int len = str.length();
-		return min <= len && len <= max && check.test(str);
+	static boolean isPrivateUse(final CharSequence s, int from, int to) {
+		return is(from, to, 1, 8) && ParserUtil.isAlphaNum(s, from, to);
 	}
 
-	private static boolean is(final String str, int len, Predicate<String> check) {
-		return str.length() == len && check.test(str);
+	private static boolean is(int from, int to, int min, int max) {
+		int len = to - from;
+		return min <= len && len <= max;
 	}
 
 	/**
@@ -531,7 +1149,7 @@ public abstract class LangTag {
 	 * @throws LangTagException If the primary language syntax is invalid.
 	 */
 	public static LangTag fromLang(final String primaryLanguage) {
-		return ImmutableLangTag.builder().primaryLanguage(primaryLanguage).build();
+		return ImmutableLangTag.of(Subtags.LANGUAGES.intern(primaryLanguage), Collections.emptyList(), "", "", Collections.emptyList(), Collections.emptyList(), "");
 	}
 
 	/**
@@ -551,7 +1169,48 @@ public abstract class LangTag {
 	 *                          invalid.
 	 */
 	public static LangTag fromLang(final String primaryLanguage, final String... languageSubtags) {
-		return ImmutableLangTag.builder().primaryLanguage(primaryLanguage).addLanguageSubtags(languageSubtags).build();
+		return ImmutableLangTag.of(Subtags.LANGUAGES.intern(primaryLanguage), Arrays.asList(languageSubtags), "", "", Collections.emptyList(), Collections.emptyList(), "");
+	}
+
+	/**
+	 * Creates a language tag from the parts those are valid and in the canonical
+	 * case already (e.g. taken from another tag or from a trusted storage). Neither
+	 * the syntax nor the case is checked, so the factory is internal.
+	 *
+	 * @param primaryLanguage the lower case primary language, must not be
+	 *                        {@code null}
+	 * @param script          the title case script or empty string, must not be
+	 *                        {@code null}
+	 * @param region          the upper case region or empty string, must not be
+	 *                        {@code null}
+	 *
+	 * @return the language tag
+	 */
+	static ImmutableLangTag trusted(String primaryLanguage, String script, String region) {
+		return trusted(primaryLanguage, Collections.emptyList(), script, region, Collections.emptyList(), Collections.emptyList(), "");
+	}
+
+	/**
+	 * Creates a language tag from the parts those are valid and in the canonical
+	 * case already (e.g. taken from another tag or from a trusted storage). Neither
+	 * the syntax nor the case is checked, so the factory is internal. An invalid
+	 * part results in an invalid tag, use the builder for the untrusted input.
+	 *
+	 * @param primaryLanguage the lower case primary language, must not be
+	 *                        {@code null}
+	 * @param languageSubtags the lower case extended language subtags
+	 * @param script          the title case script or empty string
+	 * @param region          the upper case region or empty string
+	 * @param variants        the lower case variants
+	 * @param extensions      the lower case extensions, a singleton with the
+	 *                        subtags each
+	 * @param privateUse      the lower case private use, including the "x"
+	 *                        singleton, or empty string
+	 *
+	 * @return the language tag
+	 */
+	static ImmutableLangTag trusted(String primaryLanguage, List<String> languageSubtags, String script, String region, List<String> variants, List<String> extensions, String privateUse) {
+		return Validation.skip(() -> ImmutableLangTag.of(primaryLanguage, languageSubtags, script, region, variants, extensions, privateUse));
 	}
 
 }
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable catalog of the language tagged values, built once from the map with
+ * the {@code name#tag} keys (see {@link LangTagUtils}).
+ *
+ * <p>
+ * The values of a base name are kept in a trie keyed on the subtag sequence
+ * of the tag: the primary language, the extended language subtags, the script,
+ * the region, the variants, the extensions and the private use. The lookup is
+ * a single descent along the subtags of the requested tag and returns the value
+ * of the deepest matching tag, the same as the "lookup" of
+ * <a href="https://tools.ietf.org/html/rfc4647#section-3.4">RFC 4647</a> which
+ * truncates the requested tag from the end.
+ *
+ * <p>
+ * The nodes keep the children in the sorted arrays, the leaves share an empty
+ * array and the subtag strings are shared with the parsed tags (see
+ * {@link Subtags}).
+ *
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * "month"       => "January"
+ * "month#de"    => "Januar"
+ * "month#de-AT" => "Jaenner"
+ *
+ * lookup("month", de-AT-1996) => "Jaenner"
+ * lookup("month", de-CH)      => "Januar"
+ * lookup("month", fr)         => "January"
+ * </pre>
+ *
+ * @param <T> the value type
+ */
+public final class LangTagCatalog<T> {
+
+	private static final char SEP = '#';
+	private static final String[] NO_KEYS = new String[0];
+	private static final Node<?>[] NO_CHILDREN = new Node<?>[0];
+	private static final Object NO_VALUE = new Object();
+
+	private final Map<String, Node<T>> names;
+	private final int size;
+
+	private LangTagCatalog(Map<String, Node<T>> names, int size) {
+		this.names = names;
+		this.size = size;
+	}
+
+	/**
+	 * Builds the catalog. The keys with invalid language tags are skipped, the
+	 * keys without tag (or with empty tag, e.g. {@code "name#"}) are the base
+	 * name values.
+	 *
+	 * @param map the values by the {@code name#tag} keys, must not be
+	 *            {@code null}
+	 *
+	 * @return the catalog
+	 */
+	public static <T> LangTagCatalog<T> of(Map<String, T> map) {
+		Map<String, Node<T>> names = new HashMap<>();
+		int size = 0;
+		for (Map.Entry<String, T> entry : map.entrySet()) {
+			String key = entry.getKey();
+			int pos = key.indexOf(SEP);
+			String name = pos < 0 ? key : key.substring(0, pos);
+			LangTag tag;
+			try {
+				tag = pos < 0 ? null : LangTag.parse(key.substring(pos + 1));
+			} catch (IllegalArgumentException e) {
+				continue; // skip
+			}
+			Node<T> node = names.get(name);
+			if (node == null) {
+				node = new Node<>();
+				names.put(name, node);
+			}
+			if (tag != null) {
+				node = node.child(tag.primaryLanguage());
+				for (String subtag : tag.languageSubtags()) {
+					node = node.child(subtag);
+				}
+				node = node.child(tag.script()).child(tag.region());
+				for (String variant : tag.variants()) {
+					node = node.child(variant);
+				}
+				for (String extension : tag.extensions()) {
+					node = node.child(extension);
+				}
+				node = node.child(tag.privateUse());
+			}
+			if (node.value == NO_VALUE) {
+				size++;
+			}
+			node.value = entry.getValue();
+		}
+		return new LangTagCatalog<>(names, size);
+	}
+
+	/**
+	 * Finds the value of the deepest tag matching the requested one. Falls back
+	 * to the base name value if no tag matches.
+	 *
+	 * @param baseName the base name, must not be {@code null}
+	 * @param tag      the requested tag, {@code null} for the base name value
+	 *
+	 * @return the value or {@code null} if there is neither a matching tag nor
+	 *         the base name value
+	 */
+	public T lookup(String baseName, LangTag tag) {
+		Node<T> node = names.get(baseName);
+		if (node == null) {
+			return null;
+		}
+		Object found = node.value;
+		if (tag != null) {
+			Descent<T> descent = new Descent<>(node.find(tag.primaryLanguage()), found);
+			for (String subtag : tag.languageSubtags()) {
+				descent.next(subtag);
+			}
+			descent.next(tag.script());
+			descent.next(tag.region());
+			for (String variant : tag.variants()) {
+				descent.next(variant);
+			}
+			for (String extension : tag.extensions()) {
+				descent.next(extension);
+			}
+			descent.next(tag.privateUse());
+			found = descent.found;
+		}
+		return value(found);
+	}
+
+	/**
+	 * Finds the value of exactly the given tag
+	 *
+	 * @param baseName the base name, must not be {@code null}
+	 * @param tag      the tag, {@code null} for the base name value
+	 *
+	 * @return the value or {@code null} if there is no such key
+	 */
+	public T get(String baseName, LangTag tag) {
+		Node<T> node = names.get(baseName);
+		if (node != null && tag != null) {
+			node = node.find(tag.primaryLanguage());
+			for (String subtag : tag.languageSubtags()) {
+				node = find(node, subtag);
+			}
+			node = find(find(node, tag.script()), tag.region());
+			for (String variant : tag.variants()) {
+				node = find(node, variant);
+			}
+			for (String extension : tag.extensions()) {
+				node = find(node, extension);
+			}
+			node = find(node, tag.privateUse());
+		}
+		return node == null ? null : value(node.value);
+	}
+
+	/**
+	 * @return number of the values in the catalog
+	 */
+	public int size() {
+		return size;
+	}
+
+	private static <T> Node<T> find(Node<T> node, String subtag) {
+		return node == null ? null : node.find(subtag);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T value(Object value) {
+		return value == NO_VALUE ? null : (T) value;
+	}
+
+	/** State of the lookup descent, remembers the deepest value */
+	private static final class Descent<T> {
+
+		private Node<T> node;
+		private Object found;
+
+		Descent(Node<T> node, Object found) {
+			this.node = node;
+			this.found = node != null && node.value != NO_VALUE ? node.value : found;
+		}
+
+		void next(String subtag) {
+			node = find(node, subtag);
+			if (node != null && node.value != NO_VALUE) {
+				found = node.value;
+			}
+		}
+
+	}
+
+	/**
+	 * Trie node. An absent subtag (e.g. no script) is the node itself, so the
+	 * path has only the present subtags.
+	 */
+	private static final class Node<T> {
+
+		private String[] keys = NO_KEYS;
+		@SuppressWarnings("unchecked")
+		private Node<T>[] children = (Node<T>[]) NO_CHILDREN;
+		private Object value = NO_VALUE;
+
+		/** Build time only */
+		Node<T> child(String subtag) {
+			if (subtag.isEmpty()) {
+				return this;
+			}
+			int i = Arrays.binarySearch(keys, subtag);
+			if (i >= 0) {
+				return children[i];
+			}
+			int pos = -i - 1;
+			Node<T> child = new Node<>();
+			keys = insert(keys, pos, subtag);
+			children = insert(children, pos, child);
+			return child;
+		}
+
+		Node<T> find(String subtag) {
+			if (subtag.isEmpty()) {
+				return this;
+			}
+			int i = Arrays.binarySearch(keys, subtag);
+			return i < 0 ? null : children[i];
+		}
+
+		private static <E> E[] insert(E[] array, int pos, E element) {
+			E[] result = Arrays.copyOf(array, array.length + 1);
+			System.arraycopy(array, pos, result, pos + 1, array.length - pos);
+			result[pos] = element;
+			return result;
+		}
+
+	}
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
+import java.util.function.Predicate;
+
+import org.jresearch.locale.langtag.parser.ParserUtil;
+
+/**
+ * Append only file backed column of language tags, e.g. a tag per user for the
+ * offline filtering of hundreds of millions rows.
+ *
+ * <p>
+ * Each row is a fixed width long: the simple tags (a primary language with the
+ * optional script and region) are packed into the row itself, the rest of the
+ * tags are stored once in a side dictionary file ({@code <file>.dict}, a tag
+ * per line) and the row keeps the dictionary index. The rows are read through
+ * the memory mapped segments of the file, the scans compare the codes and
+ * never create {@link LangTag} objects.
+ *
+ * <p>
+ * The column is not thread safe. JVM only.
+ */
+public final class LangTagColumn implements Closeable {
+
+	private static final String DICTIONARY_SUFFIX = ".dict";
+	private static final int ROW_BYTES = Long.BYTES;
+	/** Rows per mapped segment, a segment is 1 GiB */
+	private static final int SEGMENT_ROWS = 1 << 27;
+	/** Rows copied from a segment at once by the scans */
+	private static final int CHUNK_ROWS = 4096;
+	private static final long COMPLEX = Long.MIN_VALUE;
+	private static final long NO_MATCH = -1L;
+
+	private final FileChannel rows;
+	private final FileChannel dictionaryFile;
+	private final ByteBuffer pending = ByteBuffer.allocate(CHUNK_ROWS * ROW_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+	private final List<LangTag> dictionary = new ArrayList<>();
+	private final Map<LangTag, Integer> dictionaryIndex = new HashMap<>();
+	private LongBuffer[] segments = new LongBuffer[0];
+	private long written;
+
+	private LangTagColumn(Path file) throws IOException {
+		Path dictionaryPath = file.resolveSibling(file.getFileName() + DICTIONARY_SUFFIX);
+		if (Files.exists(dictionaryPath)) {
+			try (BufferedReader reader = Files.newBufferedReader(dictionaryPath, StandardCharsets.US_ASCII)) {
+				int lineNumber = 1;
+				for (String line = reader.readLine(); line != null; line = reader.readLine(), lineNumber++) {
+					LangTag tag = tag(line, dictionaryPath, lineNumber);
+					dictionaryIndex.put(tag, Integer.valueOf(dictionary.size()));
+					dictionary.add(tag);
+				}
+			}
+		}
+		FileChannel rowChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		FileChannel dictionaryChannel = null;
+		try {
+			dictionaryChannel = FileChannel.open(dictionaryPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			// drop a partially written row
+			written = rowChannel.size() / ROW_BYTES;
+			rowChannel.truncate(written * ROW_BYTES);
+			rowChannel.position(written * ROW_BYTES);
+		} catch (IOException | RuntimeException e) {
+			closeOnFailure(rowChannel, e);
+			if (dictionaryChannel != null) {
+				closeOnFailure(dictionaryChannel, e);
+			}
+			throw e;
+		}
+		rows = rowChannel;
+		dictionaryFile = dictionaryChannel;
+	}
+
+	private static LangTag tag(String line, Path file, int lineNumber) throws IOException {
+		try {
+			return LangTag.read(line);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid language tag in " + file + ", line " + lineNumber, e);
+		}
+	}
+
+	private static void closeOnFailure(Closeable closeable, Exception failure) {
+		try {
+			closeable.close();
+		} catch (IOException e) {
+			failure.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * Opens the column, creates the files if they don't exist
+	 *
+	 * @param file the column file, the dictionary is in the same directory
+	 *
+	 * @return the column
+	 *
+	 * @throws IOException on the file errors or an invalid tag in the dictionary
+	 */
+	public static LangTagColumn open(Path file) throws IOException {
+		return new LangTagColumn(file);
+	}
+
+	/**
+	 * @return number of rows, including not flushed ones
+	 */
+	public long size() {
+		return written + pending.position() / ROW_BYTES;
+	}
+
+	/**
+	 * Appends the tag to the end of the column. The row is buffered, it is
+	 * written by {@link #flush()} or on the buffer overflow.
+	 *
+	 * @param tag the tag to add, must not be {@code null}
+	 *
+	 * @return the row number
+	 *
+	 * @throws IOException on the file errors
+	 */
+	public long append(LangTag tag) throws IOException {
+		long code = PackedLangTag.pack(tag);
+		if (code == PackedLangTag.NONE) {
+			code = COMPLEX | complex(tag);
+		}
+		if (!pending.hasRemaining()) {
+			flush();
+		}
+		pending.putLong(code);
+		return size() - 1;
+	}
+
+	/**
+	 * Writes the buffered rows to the file
+	 *
+	 * @throws IOException on the file errors
+	 */
+	public void flush() throws IOException {
+		pending.flip();
+		while (pending.hasRemaining()) {
+			rows.write(pending);
+		}
+		pending.clear();
+		written = rows.size() / ROW_BYTES;
+	}
+
+	/**
+	 * @param row the row number
+	 *
+	 * @return the tag of the row
+	 *
+	 * @throws IOException on the file errors
+	 */
+	public LangTag get(long row) throws IOException {
+		if (row < 0 || row >= size()) {
+			throw new IndexOutOfBoundsException("Row " + row + ", size " + size());
+		}
+		if (row >= written) {
+			flush();
+		}
+		long code = segment((int) (row / SEGMENT_ROWS)).get((int) (row % SEGMENT_ROWS));
+		return code < 0 ? dictionary.get((int) code) : PackedLangTag.unpack(code);
+	}
+
+	/**
+	 * Reports the rows with the given primary language
+	 *
+	 * @param primaryLanguage the primary language, e.g. "de"
+	 * @param consumer        gets the row numbers in the ascending order
+	 *
+	 * @throws IOException on the file errors
+	 */
+	public void scanPrimaryLanguage(String primaryLanguage, LongConsumer consumer) throws IOException {
+		String language = ParserUtil.low(primaryLanguage);
+		scan(PackedLangTag.LANGUAGE_MASK, PackedLangTag.language(language), t -> t.primaryLanguage().equals(language), consumer);
+	}
+
+	/**
+	 * Reports the rows with the given region
+	 *
+	 * @param region   the region, e.g. "AT" or "419", empty for the tags
+	 *                 without region
+	 * @param consumer gets the row numbers in the ascending order
+	 *
+	 * @throws IOException on the file errors
+	 */
+	public void scanRegion(String region, LongConsumer consumer) throws IOException {
+		String value = ParserUtil.up(region);
+		scan(PackedLangTag.REGION_MASK, PackedLangTag.region(value), t -> t.region().equals(value), consumer);
+	}
+
+	/**
+	 * Compares the masked codes of the simple tags and looks up the matching
+	 * dictionary indexes for the rest.
+	 */
+	private void scan(long mask, long expected, Predicate<LangTag> complexFilter, LongConsumer consumer) throws IOException {
+		flush();
+		long value = expected == PackedLangTag.NONE ? NO_MATCH : expected;
+		boolean[] complex = new boolean[dictionary.size()];
+		for (int i = 0; i < complex.length; i++) {
+			complex[i] = complexFilter.test(dictionary.get(i));
+		}
+		long[] chunk = new long[CHUNK_ROWS];
+		for (long first = 0; first < written; first += chunk.length) {
+			LongBuffer segment = segment((int) (first / SEGMENT_ROWS));
+			int count = (int) Math.min(chunk.length, written - first);
+			segment.position((int) (first % SEGMENT_ROWS));
+			segment.get(chunk, 0, count);
+			for (int i = 0; i < count; i++) {
+				long code = chunk[i];
+				if (code >= 0 ? (code & mask) == value : complex[(int) code]) {
+					consumer.accept(first + i);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Maps the segment, the last segment is mapped again after it grows
+	 */
+	private LongBuffer segment(int index) throws IOException {
+		if (index >= segments.length) {
+			LongBuffer[] grown = new LongBuffer[index + 1];
+			System.arraycopy(segments, 0, grown, 0, segments.length);
+			segments = grown;
+		}
+		long first = (long) index * SEGMENT_ROWS;
+		int rowCount = (int) Math.min(SEGMENT_ROWS, written - first);
+		LongBuffer segment = segments[index];
+		if (segment == null || segment.capacity() < rowCount) {
+			MappedByteBuffer mapped = rows.map(FileChannel.MapMode.READ_ONLY, first * ROW_BYTES, (long) rowCount * ROW_BYTES);
+			segment = mapped.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+			segments[index] = segment;
+		}
+		return segment;
+	}
+
+	private int complex(LangTag tag) throws IOException {
+		Integer index = dictionaryIndex.get(tag);
+		if (index != null) {
+			return index.intValue();
+		}
+		ByteBuffer line = ByteBuffer.wrap((tag + "\n").getBytes(StandardCharsets.US_ASCII));
+		while (line.hasRemaining()) {
+			dictionaryFile.write(line);
+		}
+		int added = dictionary.size();
+		dictionaryIndex.put(tag, Integer.valueOf(added));
+		dictionary.add(tag);
+		return added;
+	}
+
+	/**
+	 * Flushes the rows and closes the files
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+			rows.force(false);
+			dictionaryFile.force(false);
+		} finally {
+			rows.close();
+			dictionaryFile.close();
+		}
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface of the language tag String constants. The annotation
+ * processor ({@code org.jresearch.locale.languageTag.processor} artifact)
+ * validates the constants at compile time, an invalid tag fails the build, and
+ * generates a class with the same named {@link LangTag} constants created from
+ * the canonical parts, without parsing or checking at runtime. A private use
+ * only tag (e.g. {@code x-foo}) is a valid constant. The generated code is GWT
+ * safe.
+ *
+ * <pre>
+ * &#64;LangTagConstants
+ * interface Languages {
+ * 	String DE_AT = "de-at";
+ * }
+ *
+ * // generated
+ * public final class LanguagesTags {
+ * 	public static final LangTag DE_AT = LangTagConstantsSupport.canonical("de", emptyList(), "", "AT", emptyList(), emptyList(), "");
+ * }
+ * </pre>
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface LangTagConstants {
+
+	/**
+	 * @return simple name of the generated class, the annotated type name with
+	 *         the "Tags" suffix by default, the enclosing type names of a nested
+	 *         type are included, e.g. {@code Outer_InnerTags}
+	 */
+	String value() default "";
+
+}
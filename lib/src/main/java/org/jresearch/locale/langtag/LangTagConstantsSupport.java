@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.List;
+
+/**
+ * Entry points of the {@link LangTagConstants} annotation processor and the
+ * code it generates. Not intended for the application code: the factory trusts
+ * its arguments, the processor has validated and normalized them at compile
+ * time.
+ */
+public final class LangTagConstantsSupport {
+
+	private LangTagConstantsSupport() {
+		// static only
+	}
+
+	/**
+	 * Parses the constant value, unlike {@link LangTag#parse(String)} a private
+	 * use only tag (e.g. {@code x-foo}) is valid.
+	 *
+	 * @param value the constant value, must not be {@code null}
+	 *
+	 * @return the language tag
+	 *
+	 * @throws IllegalArgumentException If the value is empty or not a valid tag.
+	 */
+	public static LangTag read(String value) {
+		return LangTag.read(value);
+	}
+
+	/**
+	 * Creates a language tag from the canonical parts without checking them, see
+	 * {@link ImmutableLangTag#of(String, List, String, String, List, List, String)}
+	 * for the checked one.
+	 *
+	 * @param primaryLanguage the lower case primary language or empty string
+	 * @param languageSubtags the lower case extended language subtags
+	 * @param script          the title case script or empty string
+	 * @param region          the upper case region or empty string
+	 * @param variants        the lower case variants
+	 * @param extensions      the lower case extensions, a singleton with the
+	 *                        subtags each
+	 * @param privateUse      the lower case private use, including the "x"
+	 *                        singleton, or empty string
+	 *
+	 * @return the language tag
+	 */
+	public static LangTag canonical(String primaryLanguage, List<String> languageSubtags, String script, String region, List<String> variants, List<String> extensions, String privateUse) {
+		return LangTag.trusted(primaryLanguage, languageSubtags, script, region, variants, extensions, privateUse);
+	}
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Dictionary of the language tags, each distinct tag gets a dense int id (0, 1,
+ * 2, ...) in the order of the first {@link #id(LangTag)} call. The ids are
+ * suitable for int columns and bit sets instead of the tag collections.
+ *
+ * <p>
+ * The dictionary is thread safe, {@link #find(LangTag)} and {@link #tag(int)}
+ * take no locks, only a new tag is added under the lock.
+ *
+ * <p>
+ * The dictionary can be saved to a binary file and restored with the same ids.
+ * The simple tags are written as the packed codes (see {@link PackedLangTag}),
+ * the rest as the ASCII text. JVM only.
+ */
+public final class LangTagDictionary {
+
+	/** Result of {@link #find(LangTag)} for an unknown tag */
+	public static final int NOT_FOUND = -1;
+
+	private static final int MAGIC = 0x4C544431; // LTD1
+	private static final byte PACKED = 0;
+	private static final byte TEXT = 1;
+	private static final int INITIAL_CAPACITY = 64;
+	/** The text length is saved as an unsigned short */
+	private static final int MAX_TEXT = 0xFFFF;
+
+	private final ConcurrentMap<LangTag, Integer> ids = new ConcurrentHashMap<>();
+	private final Object lock = new Object();
+	/** The array is replaced with a bigger copy, never shrinks */
+	private volatile LangTag[] tags = new LangTag[INITIAL_CAPACITY];
+	/** Published after the tag is stored in the array */
+	private volatile int size;
+
+	/**
+	 * Returns the id of the tag, adds the tag if it is not in the dictionary
+	 *
+	 * @param tag the tag, must not be {@code null}
+	 *
+	 * @return the id
+	 */
+	public int id(LangTag tag) {
+		Integer id = ids.get(tag);
+		if (id != null) {
+			return id.intValue();
+		}
+		synchronized (lock) {
+			id = ids.get(tag);
+			return id != null ? id.intValue() : add(tag);
+		}
+	}
+
+	/**
+	 * @param tag the tag, must not be {@code null}
+	 *
+	 * @return the id of the tag or {@link #NOT_FOUND}
+	 */
+	public int find(LangTag tag) {
+		Integer id = ids.get(tag);
+		return id == null ? NOT_FOUND : id.intValue();
+	}
+
+	/**
+	 * @param id the id
+	 *
+	 * @return the tag of the id
+	 *
+	 * @throws IndexOutOfBoundsException if there is no such id
+	 */
+	public LangTag tag(int id) {
+		int count = size;
+		if (id < 0 || id >= count) {
+			throw new IndexOutOfBoundsException("Id " + id + ", size " + count);
+		}
+		return tags[id];
+	}
+
+	/**
+	 * @return number of the tags, the ids are from 0 to size - 1
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Saves the tags of the dictionary. The tags added concurrently may be not
+	 * saved.
+	 *
+	 * @param file the file to write
+	 *
+	 * @throws IOException on the file errors or if a tag is longer than 65535
+	 *                     chars
+	 */
+	public void snapshot(Path file) throws IOException {
+		int count = size;
+		LangTag[] snapshot = tags;
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(count);
+			for (int i = 0; i < count; i++) {
+				long code = PackedLangTag.pack(snapshot[i]);
+				if (code == PackedLangTag.NONE) {
+					byte[] text = snapshot[i].toString().getBytes(StandardCharsets.US_ASCII);
+					if (text.length > MAX_TEXT) {
+						throw new IOException("The tag of id " + i + " is too long to save: " + text.length + " chars");
+					}
+					out.writeByte(TEXT);
+					out.writeShort(text.length);
+					out.write(text);
+				} else {
+					out.writeByte(PACKED);
+					out.writeLong(code);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Restores the dictionary saved by {@link #snapshot(Path)}
+	 *
+	 * @param file the file to read
+	 *
+	 * @return the dictionary with the same ids
+	 *
+	 * @throws IOException on the file errors or if the file is not a valid
+	 *                     dictionary: an unknown entry kind, an invalid or
+	 *                     duplicate tag
+	 */
+	public static LangTagDictionary restore(Path file) throws IOException {
+		LangTagDictionary dictionary = new LangTagDictionary();
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a language tag dictionary: " + file);
+			}
+			int count = in.readInt();
+			if (count < 0) {
+				throw new IOException("Invalid number of the language tags " + count + " in " + file);
+			}
+			synchronized (dictionary.lock) {
+				for (int i = 0; i < count; i++) {
+					LangTag tag = tag(in, file);
+					if (dictionary.ids.containsKey(tag)) {
+						throw new IOException("Duplicate language tag " + tag + " of id " + i + " in " + file);
+					}
+					dictionary.add(tag);
+				}
+			}
+		}
+		return dictionary;
+	}
+
+	private static LangTag tag(DataInputStream in, Path file) throws IOException {
+		byte kind = in.readByte();
+		try {
+			if (kind == PACKED) {
+				return PackedLangTag.unpack(in.readLong());
+			}
+			if (kind == TEXT) {
+				return LangTag.read(text(in));
+			}
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid language tag in " + file, e);
+		}
+		throw new IOException("Unknown language tag kind " + kind + " in " + file);
+	}
+
+	private static String text(DataInputStream in) throws IOException {
+		byte[] text = new byte[in.readUnsignedShort()];
+		in.readFully(text);
+		return new String(text, StandardCharsets.US_ASCII);
+	}
+
+	/** Must be called under the lock */
+	private int add(LangTag tag) {
+		int id = size;
+		LangTag[] current = tags;
+		if (id == current.length) {
+			LangTag[] grown = new LangTag[id * 2];
+			System.arraycopy(current, 0, grown, 0, id);
+			tags = grown;
+			current = grown;
+		}
+		current[id] = tag;
+		size = id + 1;
+		ids.put(tag, Integer.valueOf(id));
+		return id;
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import org.jresearch.locale.langtag.metrics.LangTagMetrics;
+import org.jresearch.locale.langtag.metrics.Metrics;
+
+/**
+ * Reusable language tag parser for the batch jobs. The parser owns the scratch
+ * buffers: the lists of the repeated parts are allocated once and reused, so
+ * only the tag itself and its subtag strings are allocated per call. The tag
+ * is scanned by {@link LangTag#scan(CharSequence, SubtagVisitor)}, the same
+ * grammar walk as of {@link LangTag#parse(String)}, the results are the same.
+ *
+ * <pre>
+ * LangTagParser parser = new LangTagParser();
+ * for (String line : lines) {
+ * 	LangTag tag = parser.parse(line);
+ * 	// ...
+ * }
+ * </pre>
+ *
+ * The parser is not thread safe, use an instance per thread (or per task).
+ */
+public final class LangTagParser {
+
+	private final LangTag.Parts parts = new LangTag.Parts();
+
+	/**
+	 * Parses the specified string representation of a language tag.
+	 *
+	 * @param s The string to parse. May be {@code null}.
+	 *
+	 * @return The language tag. {@code null} if the string was empty or
+	 *         {@code null}.
+	 *
+	 * @throws IllegalArgumentException If the string has invalid language tag
+	 *                                  syntax.
+	 */
+	public ImmutableLangTag parse(CharSequence s) {
+		if (s == null || isBlank(s)) {
+			return null;
+		}
+		if (!Metrics.enabled()) {
+			return parseTag(s);
+		}
+		LangTagMetrics metrics = Metrics.get();
+		long start = metrics.timed() ? Metrics.nanoTime() : 0;
+		ImmutableLangTag tag = parseTag(s);
+		metrics.parsed();
+		if (metrics.timed()) {
+			metrics.parseTime(Metrics.nanoTime() - start);
+		}
+		return tag;
+	}
+
+	private ImmutableLangTag parseTag(CharSequence s) {
+		LangTag.scan(s, parts.reset());
+		return parts.toLangTag(s);
+	}
+
+	private static boolean isBlank(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (s.charAt(i) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serialization proxy of {@link LangTag}. A simple tag is written as the
+ * packed long (see {@link PackedLangTag}), the rest as the canonical ASCII
+ * text. The tags are interned on read.
+ *
+ * <p>
+ * JVM only, GWT has no Java serialization, the GWT super-source of this class
+ * only keeps {@link #of(LangTag)}.
+ */
+final class LangTagSerialForm implements Externalizable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final byte PACKED = 0;
+	private static final byte TEXT = 1;
+
+	private LangTag tag;
+
+	/** For the deserialization only */
+	public LangTagSerialForm() {
+		// read by readExternal
+	}
+
+	private LangTagSerialForm(LangTag tag) {
+		this.tag = tag;
+	}
+
+	/**
+	 * @return the object to serialize instead of the tag
+	 */
+	static Object of(LangTag tag) {
+		return new LangTagSerialForm(tag);
+	}
+
+	@Override
+	public void writeExternal(ObjectOutput out) throws IOException {
+		long code = PackedLangTag.pack(tag);
+		if (code == PackedLangTag.NONE) {
+			byte[] text = tag.toString().getBytes(StandardCharsets.US_ASCII);
+			out.writeByte(TEXT);
+			out.writeInt(text.length);
+			out.write(text);
+		} else {
+			out.writeByte(PACKED);
+			out.writeLong(code);
+		}
+	}
+
+	@Override
+	public void readExternal(ObjectInput in) throws IOException {
+		byte kind = in.readByte();
+		try {
+			if (kind == PACKED) {
+				tag = PackedLangTag.unpack(in.readLong());
+			} else if (kind == TEXT) {
+				tag = LangTag.read(text(in));
+			} else {
+				throw new InvalidObjectException("Unknown language tag form " + kind);
+			}
+		} catch (IllegalArgumentException e) {
+			InvalidObjectException invalid = new InvalidObjectException("Invalid language tag");
+			invalid.initCause(e);
+			throw invalid;
+		}
+	}
+
+	/**
+	 * Reads the text char by char, a forged length fails on the stream end
+	 * instead of allocating the buffer
+	 */
+	private static String text(ObjectInput in) throws IOException {
+		int length = in.readInt();
+		if (length <= 0) {
+			throw new InvalidObjectException("Invalid language tag length " + length);
+		}
+		StringBuilder text = new StringBuilder(Math.min(length, 64));
+		for (int i = 0; i < length; i++) {
+			text.append((char) in.readUnsignedByte());
+		}
+		return text.toString();
+	}
+
+	private Object readResolve() {
+		return Interner.intern(tag);
+	}
+
+}
@@ -130,6 +130,63 @@ public final class LangTagUtils {
 		return out;
 	}
 
+	/**
+	 * Strips the language tags, if any are found, from the specified strings and
+	 * adds the results to the given collection. Nothing is allocated for the
+	 * strings without tag.
+	 *
+	 * @param in  The strings. May contain strings with language tags. Must not be
+	 *            {@code null}.
+	 * @param out The collection to add the stripped strings to, e.g. a reused
+	 *            cleared one. Must not be {@code null}.
+	 *
+	 * @return The output collection.
+	 */
+	public static <C extends Collection<? super String>> C strip(final Collection<String> in, final C out) {
+
+		for (String s : in)
+			out.add(strip(s));
+
+		return out;
+	}
+
+	/**
+	 * Strips the language tags from the specified string set, returns the set
+	 * itself if there are no tags. This method is {@code null} safe.
+	 *
+	 * @param set The string set. May contain strings with language tags. May be
+	 *            {@code null}.
+	 *
+	 * @return The same set if no string has a language tag, the new set with no
+	 *         language tags otherwise.
+	 */
+	public static Set<String> stripIfTagged(final Set<String> set) {
+		return set == null || !hasTag(set) ? set : strip(set);
+	}
+
+	/**
+	 * Strips the language tags from the specified string list, returns the list
+	 * itself if there are no tags. This method is {@code null} safe.
+	 *
+	 * @param list The string list. May contain strings with language tags. May be
+	 *             {@code null}.
+	 *
+	 * @return The same list if no string has a language tag, the new list with no
+	 *         language tags otherwise.
+	 */
+	public static List<String> stripIfTagged(final List<String> list) {
+		return list == null || !hasTag(list) ? list : strip(list);
+	}
+
+	private static boolean hasTag(final Collection<String> strings) {
+		for (String s : strings) {
+			if (s != null && s.indexOf('#') >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Extracts the language tag, if any is found, from the specified string.
 	 *
@@ -196,6 +253,8 @@ public final class LangTagUtils {
 	 * @return A map of all language-tagged entries with the specified base name. A
 	 *         {@code null} keyed entry will indicate no language tag (base name
 	 *         only).
+	 *
+	 * @see LangTagCatalog for the repeated lookups in the same map
 	 */
 	public static <T> Map<LangTag, T> find(final String baseName, final Map<String, T> map) {
 
@@ -267,6 +326,55 @@ public final class LangTagUtils {
 		return out;
 	}
 
+	/**
+	 * Adds the string representations of the specified language tags to the given
+	 * collection.
+	 *
+	 * @param langTags The language tags. Must not be {@code null}.
+	 * @param out      The collection to add the strings to, e.g. a reused cleared
+	 *                 one. Must not be {@code null}.
+	 *
+	 * @return The output collection.
+	 */
+	public static <C extends Collection<? super String>> C toStringList(final Collection<LangTag> langTags, final C out) {
+
+		for (LangTag lt : langTags) {
+			out.add(lt.toString());
+		}
+
+		return out;
+	}
+
+	/**
+	 * Returns a string array representation of the specified language tags
+	 * collection. Same as {@link Collection#toArray(Object[])}, the given array is
+	 * used if it is big enough, the element after the last tag is set to
+	 * {@code null} if the array is bigger.
+	 *
+	 * @param langTags The language tags. Must not be {@code null}.
+	 * @param out      The array to fill, e.g. a reused one. Must not be
+	 *                 {@code null}.
+	 *
+	 * @return The given array or the new one if the given is too small.
+	 */
+	public static String[] toStringArray(final Collection<LangTag> langTags, final String[] out) {
+
+		int size = langTags.size();
+		String[] result = out.length < size ? new String[size] : out;
+
+		int i = 0;
+
+		for (LangTag lt : langTags) {
+			result[i++] = lt.toString();
+		}
+
+		if (i < result.length) {
+			result[i] = null;
+		}
+
+		return result;
+	}
+
 	/**
 	 * Returns a string array representation of the specified language tags
 	 * collection.
@@ -369,6 +477,8 @@ public final class LangTagUtils {
 	 *         if the original value is {@code null}.
 	 *
 	 * @throws LangTagException If parsing failed.
+	 *
+	 * @see TaggedName for the allocation free split
 	 */
 	public static Map.Entry<String, LangTag> split(final String s) {
 		if (s == null) {
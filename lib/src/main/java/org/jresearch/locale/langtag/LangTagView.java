@@ -0,0 +1,304 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jresearch.locale.langtag.parser.CharSlice;
+import org.jresearch.locale.langtag.parser.ParserUtil;
+
+/**
+ * Reusable language tag view over a text buffer, for the bulk processing (e.g.
+ * scanning a file of tags) without creating a {@link LangTag} per tag.
+ *
+ * <p>
+ * The view validates the tag and keeps only the subtag positions. The
+ * accessors have the same names as the {@link LangTag} ones but return slices
+ * of the backing text, as is (without case normalization). The returned slices
+ * and lists are owned by the view and change on the next
+ * {@link #reset(CharSequence)}, copy them (e.g. {@code toString()}) to keep.
+ *
+ * <pre>
+ * LangTagView view = new LangTagView();
+ * for (String line : lines) {
+ * 	if (view.reset(line).primaryLanguage().equalsIgnoreCase("de")) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * The view is not thread safe.
+ */
+public final class LangTagView {
+
+	private final AsciiBytes bytes = new AsciiBytes();
+	private final CharSlice input = new CharSlice();
+
+	private CharSequence backing = "";
+	private int base;
+
+	private final CharSlice tag = new CharSlice();
+	private final CharSlice primaryLanguage = new CharSlice();
+	private final CharSlice language = new CharSlice();
+	private final CharSlice script = new CharSlice();
+	private final CharSlice region = new CharSlice();
+	private final CharSlice privateUse = new CharSlice();
+	private final Slices languageSubtags = new Slices();
+	private final Slices variants = new Slices();
+	private final Slices extensions = new Slices();
+	private final SubtagVisitor visitor = (type, s, from, to) -> visit(type, from, to);
+	private int languageTo;
+	/** The singleton position of the current extension or private use part */
+	private int partFrom;
+
+	/**
+	 * Points the view to the tag
+	 *
+	 * @param text the language tag
+	 *
+	 * @return this view
+	 *
+	 * @throws IllegalArgumentException If the text has invalid language tag
+	 *                                  syntax.
+	 */
+	public LangTagView reset(CharSequence text) {
+		return reset(text, 0, text.length());
+	}
+
+	/**
+	 * Points the view to the tag in the given range of the text
+	 *
+	 * @param text the text
+	 * @param from the tag start, inclusive
+	 * @param to   the tag end, exclusive
+	 *
+	 * @return this view
+	 *
+	 * @throws IllegalArgumentException If the range has invalid language tag
+	 *                                  syntax.
+	 */
+	public LangTagView reset(CharSequence text, int from, int to) {
+		backing = text;
+		base = from;
+		input.set(text, from, to);
+		scan();
+		return this;
+	}
+
+	/**
+	 * Points the view to the ASCII encoded tag in the given range of the bytes
+	 *
+	 * @param buf    the bytes
+	 * @param offset the tag start
+	 * @param length the tag length in bytes
+	 *
+	 * @return this view
+	 *
+	 * @throws IllegalArgumentException If the range has invalid language tag
+	 *                                  syntax.
+	 */
+	public LangTagView reset(byte[] buf, int offset, int length) {
+		return reset(bytes.set(buf), offset, offset + length);
+	}
+
+	private void scan() {
+		languageSubtags.reset();
+		variants.reset();
+		extensions.reset();
+		script.clear();
+		region.clear();
+		privateUse.clear();
+
+		LangTag.scan(input, visitor);
+		slice(language, 0, languageTo);
+		slice(tag, 0, input.length());
+	}
+
+	private boolean visit(SubtagType type, int from, int to) {
+		switch (type) {
+		case LANGUAGE:
+			slice(primaryLanguage, from, to);
+			languageTo = to;
+			break;
+		case EXTLANG:
+			languageSubtags.add(from, to);
+			languageTo = to;
+			break;
+		case SCRIPT:
+			slice(script, from, to);
+			break;
+		case REGION:
+			slice(region, from, to);
+			break;
+		case VARIANT:
+			variants.add(from, to);
+			break;
+		case EXTENSION_SINGLETON:
+			extensions.add(from, to);
+			partFrom = from;
+			break;
+		case EXTENSION:
+			extensions.setLast(partFrom, to);
+			break;
+		case PRIVATE_USE_SINGLETON:
+			partFrom = from;
+			break;
+		case PRIVATE_USE:
+			slice(privateUse, partFrom, to);
+			break;
+		default:
+			break;
+		}
+		return true;
+	}
+
+	private void slice(CharSlice slice, int from, int to) {
+		slice.set(backing, base + from, base + to);
+	}
+
+	public CharSlice primaryLanguage() {
+		return primaryLanguage;
+	}
+
+	public List<CharSequence> languageSubtags() {
+		return languageSubtags;
+	}
+
+	public CharSlice language() {
+		return language;
+	}
+
+	public CharSlice script() {
+		return script;
+	}
+
+	public CharSlice region() {
+		return region;
+	}
+
+	public List<CharSequence> variants() {
+		return variants;
+	}
+
+	public List<CharSequence> extensions() {
+		return extensions;
+	}
+
+	public CharSlice privateUse() {
+		return privateUse;
+	}
+
+	/**
+	 * Creates the language tag. The view is validated already, so the parts are
+	 * only brought to the canonical case.
+	 *
+	 * @return the language tag
+	 */
+	public LangTag toLangTag() {
+		return LangTag.trusted(LangTag.canonical(Subtags.LANGUAGES, primaryLanguage, 0, primaryLanguage.length(), ParserUtil::low),
+				low(languageSubtags),
+				LangTag.canonical(Subtags.SCRIPTS, script, 0, script.length(), ParserUtil::tit),
+				LangTag.canonical(Subtags.REGIONS, region, 0, region.length(), ParserUtil::up),
+				low(variants), low(extensions), ParserUtil.low(privateUse.toString()));
+	}
+
+	private static List<String> low(List<CharSequence> subtags) {
+		List<String> result = Collections.emptyList();
+		for (CharSequence subtag : subtags) {
+			result = LangTag.add(result, ParserUtil.low(subtag.toString()));
+		}
+		return result;
+	}
+
+	/**
+	 * @return the tag text, as is
+	 */
+	@Override
+	public String toString() {
+		return tag.toString();
+	}
+
+	/** Reusable list of slices */
+	private final class Slices extends AbstractList<CharSequence> {
+
+		private CharSlice[] slices = new CharSlice[0];
+		private int size;
+
+		void reset() {
+			size = 0;
+		}
+
+		void add(int from, int to) {
+			if (size == slices.length) {
+				CharSlice[] grown = new CharSlice[size + 2];
+				System.arraycopy(slices, 0, grown, 0, size);
+				for (int i = size; i < grown.length; i++) {
+					grown[i] = new CharSlice();
+				}
+				slices = grown;
+			}
+			slice(slices[size++], from, to);
+		}
+
+		/** Resets the last slice */
+		void setLast(int from, int to) {
+			slice(slices[size - 1], from, to);
+		}
+
+		@Override
+		public CharSequence get(int index) {
+			if (index >= size) {
+				throw new IndexOutOfBoundsException("Index " + index + " is out of [0, " + size + ")");
+			}
+			return slices[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+	}
+
+	/** Reusable ASCII bytes as a char sequence */
+	private static final class AsciiBytes implements CharSequence {
+
+		private byte[] buf;
+
+		AsciiBytes set(byte[] bytes) {
+			this.buf = bytes;
+			return this;
+		}
+
+		@Override
+		public int length() {
+			return buf.length;
+		}
+
+		@Override
+		public char charAt(int index) {
+			return (char) (buf[index] & 0xFF);
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			char[] chars = new char[end - start];
+			for (int i = start; i < end; i++) {
+				chars[i - start] = charAt(i);
+			}
+			return new String(chars);
+		}
+
+		@Override
+		public String toString() {
+			return subSequence(0, buf.length).toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable language priority list, e.g. from the {@code Accept-Language}
+ * header or the user settings, for the "lookup" of
+ * <a href="https://tools.ietf.org/html/rfc4647#section-3.4">RFC 4647</a>.
+ *
+ * <p>
+ * The list is parsed once, the ranges are sorted by the weight (the equal
+ * weights keep the original order) and the truncation chain of each range
+ * ({@code zh-Hant-CN}, {@code zh-Hant}, {@code zh}, see
+ * {@link LangTag#truncationChain()}) is taken in advance, so a lookup only
+ * checks the chains against the supported tags. The hash code is
+ * computed once, the list can be used as a cache key and shared between
+ * threads.
+ *
+ * <pre>
+ * LanguagePriorityList list = LanguagePriorityList.parse("de-CH, fr;q=0.9, en;q=0.8");
+ * LangTag tag = list.lookup(supported); // de if supported, else fr, ...
+ * </pre>
+ *
+ * The wildcard ({@code *}) and the invalid ranges are ignored, the ranges with
+ * zero weight ({@code q=0}) are not acceptable and skipped.
+ */
+public final class LanguagePriorityList {
+
+	private static final String WILDCARD = "*";
+	private static final int MAX_WEIGHT = 1000;
+
+	private final List<LangTag> ranges;
+	/** Weights in thousandths, 1000 for {@code q=1} */
+	private final int[] weights;
+	private final List<List<LangTag>> chains;
+	private final int hash;
+
+	private LanguagePriorityList(List<LangTag> ranges, int[] weights) {
+		this.ranges = Collections.unmodifiableList(ranges);
+		this.weights = weights;
+		List<List<LangTag>> truncated = new ArrayList<>(ranges.size());
+		int h = 1;
+		for (int i = 0; i < ranges.size(); i++) {
+			truncated.add(ranges.get(i).truncationChain());
+			h = 31 * (31 * h + ranges.get(i).hashCode()) + weights[i];
+		}
+		this.chains = Collections.unmodifiableList(truncated);
+		this.hash = h;
+	}
+
+	/**
+	 * Parses the {@code Accept-Language} header value, e.g.
+	 * {@code "de-CH, de;q=0.9, en;q=0.8, *;q=0.5"}
+	 *
+	 * @param acceptLanguage the header value, must not be {@code null}
+	 *
+	 * @return the list
+	 */
+	public static LanguagePriorityList parse(String acceptLanguage) {
+		List<LangTag> tags = new ArrayList<>();
+		List<Integer> tagWeights = new ArrayList<>();
+		for (String item : acceptLanguage.split(",")) {
+			String[] parts = item.split(";");
+			String range = parts[0].trim();
+			int weight = MAX_WEIGHT;
+			for (int i = 1; i < parts.length; i++) {
+				String param = parts[i].trim();
+				if (param.startsWith("q=") || param.startsWith("Q=")) {
+					weight = weight(param.substring(2).trim());
+				}
+			}
+			if (weight <= 0 || range.isEmpty() || WILDCARD.equals(range)) {
+				continue;
+			}
+			LangTag tag;
+			try {
+				tag = LangTag.parse(range);
+			} catch (IllegalArgumentException e) {
+				continue; // skip
+			}
+			// stable insertion by weight
+			int pos = tags.size();
+			while (pos > 0 && tagWeights.get(pos - 1).intValue() < weight) {
+				pos--;
+			}
+			tags.add(pos, tag);
+			tagWeights.add(pos, Integer.valueOf(weight));
+		}
+		int[] weights = new int[tagWeights.size()];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = tagWeights.get(i).intValue();
+		}
+		return new LanguagePriorityList(tags, weights);
+	}
+
+	/**
+	 * Creates the list of the tags in the given order, e.g. from the user settings
+	 *
+	 * @param tags the tags, the most preferred first
+	 *
+	 * @return the list
+	 */
+	public static LanguagePriorityList of(List<LangTag> tags) {
+		int[] weights = new int[tags.size()];
+		for (int i = 0; i < weights.length; i++) {
+			weights[i] = MAX_WEIGHT;
+		}
+		return new LanguagePriorityList(new ArrayList<>(tags), weights);
+	}
+
+	/**
+	 * @return the ranges, the most preferred first
+	 */
+	public List<LangTag> ranges() {
+		return ranges;
+	}
+
+	/**
+	 * @param index the range index
+	 *
+	 * @return the weight of the range, from 0 (exclusive) to 1
+	 */
+	public double weight(int index) {
+		return (double) weights[index] / MAX_WEIGHT;
+	}
+
+	/**
+	 * @param index the range index
+	 *
+	 * @return the range and its truncations, the longest first
+	 */
+	public List<LangTag> truncationChain(int index) {
+		return chains.get(index);
+	}
+
+	/**
+	 * Finds the best supported tag: the ranges are checked in the priority order,
+	 * each range with its truncation chain.
+	 *
+	 * @param supported the supported tags, a set is recommended
+	 *
+	 * @return the best supported tag or {@code null} if nothing matches
+	 */
+	public LangTag lookup(Collection<? extends LangTag> supported) {
+		for (List<LangTag> chain : chains) {
+			for (LangTag tag : chain) {
+				if (supported.contains(tag)) {
+					return tag;
+				}
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof LanguagePriorityList)) {
+			return false;
+		}
+		LanguagePriorityList other = (LanguagePriorityList) obj;
+		if (hash != other.hash || !ranges.equals(other.ranges)) {
+			return false;
+		}
+		for (int i = 0; i < weights.length; i++) {
+			if (weights[i] != other.weights[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	/**
+	 * @return the canonical {@code Accept-Language} value, e.g.
+	 *         {@code "de-CH,de;q=0.9"}
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		for (int i = 0; i < weights.length; i++) {
+			if (i > 0) {
+				str.append(',');
+			}
+			str.append(ranges.get(i));
+			if (weights[i] < MAX_WEIGHT) {
+				// 0.xyz without the trailing zeros
+				String digits = String.valueOf(MAX_WEIGHT + weights[i]);
+				int end = digits.length();
+				while (digits.charAt(end - 1) == '0') {
+					end--;
+				}
+				str.append(";q=0.").append(digits, 1, end);
+			}
+		}
+		return str.toString();
+	}
+
+	/**
+	 * @return the weight in thousandths, 0 for invalid value
+	 */
+	private static int weight(String value) {
+		try {
+			double q = Double.parseDouble(value);
+			return q < 0 || q > 1 ? 0 : (int) Math.round(q * MAX_WEIGHT);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.jresearch.locale.langtag.metrics.Failure;
+
+/**
+ * Lenient language tag parser for the sloppy input, e.g. the POSIX
+ * {@code LANG} values ({@code pt_BR.UTF-8}, {@code de_DE@euro}) or the
+ * {@code Accept-Language} items ({@code de-DE;q=0.8}). The input is repaired in
+ * a single pass and parsed once, no retries on exceptions.
+ *
+ * <pre>
+ * LenientParser.Result result = LenientParser.ALL.parse(" pt_br.UTF-8");
+ * result.tag();     // pt-BR
+ * result.repairs(); // [WHITESPACE, UNDERSCORE, CHARSET]
+ * </pre>
+ *
+ * The parser is immutable and thread safe.
+ */
+public final class LenientParser {
+
+	/** Repairs of the input */
+	public enum Repair {
+		/** Leading and trailing whitespace removed */
+		WHITESPACE,
+		/** Underscore separators replaced with hyphens */
+		UNDERSCORE,
+		/** Charset suffix removed, e.g. {@code .UTF-8} */
+		CHARSET,
+		/** Modifier suffix removed, e.g. {@code @euro} */
+		MODIFIER,
+		/** Parameters removed, e.g. {@code ;q=0.8} */
+		PARAMETERS
+	}
+
+	/** Parser with all the repairs allowed */
+	public static final LenientParser ALL = new LenientParser(EnumSet.allOf(Repair.class));
+
+	private final Set<Repair> allowed;
+
+	/**
+	 * @param allowed the repairs to apply, the input needing other repairs is
+	 *                invalid
+	 */
+	public LenientParser(Set<Repair> allowed) {
+		this.allowed = allowed.isEmpty() ? Collections.<Repair> emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(allowed));
+	}
+
+	/**
+	 * Repairs and parses the input
+	 *
+	 * @param s The string to parse. May be {@code null}.
+	 *
+	 * @return The tag and the applied repairs. {@code null} if the string was
+	 *         {@code null}, empty or blank after the repairs.
+	 *
+	 * @throws IllegalArgumentException If the string needs a repair which is not
+	 *                                  allowed or has invalid language tag syntax
+	 *                                  after the repairs.
+	 */
+	public Result parse(String s) {
+		if (s == null) {
+			return null;
+		}
+		Set<Repair> repairs = EnumSet.noneOf(Repair.class);
+		boolean trim = allowed.contains(Repair.WHITESPACE);
+		boolean underscore = allowed.contains(Repair.UNDERSCORE);
+		// the text is s[from, to), -1 until the first not skipped char
+		int from = trim ? -1 : 0;
+		int to = 0;
+		int cutAt = s.length();
+		// the text with the hyphens, created on the first underscore
+		char[] hyphenated = null;
+		// the suffixes go in the POSIX order: .charset@modifier;parameters
+		Repair suffix = null;
+		for (int i = 0; i < s.length() && suffix != Repair.PARAMETERS; i++) {
+			char c = s.charAt(i);
+			Repair cut = cut(c);
+			if (cut != null && (suffix == null || cut.compareTo(suffix) > 0)) {
+				if (!allowed.contains(cut)) {
+					throw LangTag.fail(Failure.TRAILING, "Invalid language tag " + s + ". The " + cut + " repair is not allowed");
+				}
+				repairs.add(cut);
+				suffix = cut;
+				cutAt = Math.min(cutAt, i);
+			} else if (suffix == null) {
+				if (!trim || !Character.isWhitespace(c)) {
+					from = from < 0 ? i : from;
+					to = i + 1;
+				}
+				if (c == '_' && underscore) {
+					if (hyphenated == null) {
+						hyphenated = new char[s.length() - from];
+						s.getChars(from, i, hyphenated, 0);
+					}
+					c = '-';
+				}
+				if (hyphenated != null && from >= 0) {
+					hyphenated[i - from] = c;
+				}
+			}
+		}
+		if (from < 0) {
+			return null;
+		}
+		if (trim && (from > 0 || to < cutAt)) {
+			repairs.add(Repair.WHITESPACE);
+		}
+		String text;
+		if (hyphenated != null) {
+			repairs.add(Repair.UNDERSCORE);
+			text = new String(hyphenated, 0, to - from);
+		} else {
+			text = s.substring(from, to);
+		}
+		LangTag tag = LangTag.parse(text);
+		return tag == null ? null : new Result(tag, repairs);
+	}
+
+	private static Repair cut(char c) {
+		switch (c) {
+		case '.':
+			return Repair.CHARSET;
+		case '@':
+			return Repair.MODIFIER;
+		case ';':
+			return Repair.PARAMETERS;
+		default:
+			return null;
+		}
+	}
+
+	/** Parsed tag with the applied repairs */
+	public static final class Result {
+
+		private final LangTag tag;
+		private final Set<Repair> repairs;
+
+		Result(LangTag tag, Set<Repair> repairs) {
+			this.tag = tag;
+			this.repairs = repairs.isEmpty() ? Collections.<Repair> emptySet() : Collections.unmodifiableSet(repairs);
+		}
+
+		public LangTag tag() {
+			return tag;
+		}
+
+		/**
+		 * @return the applied repairs, empty if the input was valid as is
+		 */
+		public Set<Repair> repairs() {
+			return repairs;
+		}
+
+		public boolean repaired() {
+			return !repairs.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return tag + (repairs.isEmpty() ? "" : " " + repairs);
+		}
+
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jresearch.locale.langtag.metrics.Metrics;
+
+/**
+ * Cached conversion between {@link LangTag} and {@link Locale}. The same
+ * (equal) tag always gets the same locale instance and vice versa. A tag
+ * converted to a locale is cached for the reverse conversion too, if the
+ * locale gives the equal tag back.
+ *
+ * <p>
+ * JVM only, the GWT {@link Locale} emulation has no language tag support.
+ */
+@GwtIncompatible
+final class Locales {
+
+	static final String TO_LOCALE_CACHE = "locale";
+	static final String FROM_LOCALE_CACHE = "locale.reverse";
+
+	/** The caches are dropped when this size is reached to bound the memory */
+	private static final int MAX_SIZE = 4096;
+
+	private static final ConcurrentMap<LangTag, Locale> LOCALES = new ConcurrentHashMap<>();
+	private static final ConcurrentMap<Locale, LangTag> TAGS = new ConcurrentHashMap<>();
+
+	private Locales() {
+		// static methods only
+	}
+
+	static Locale toLocale(LangTag tag) {
+		Locale locale = LOCALES.get(tag);
+		if (locale != null) {
+			Metrics.cacheHit(TO_LOCALE_CACHE);
+			return locale;
+		}
+		Metrics.cacheMiss(TO_LOCALE_CACHE);
+		bound();
+		locale = Locale.forLanguageTag(tag.toString());
+		Locale cached = LOCALES.putIfAbsent(tag, locale);
+		if (cached != null) {
+			return cached;
+		}
+		// reverse direction gets the same pair unless the locale changes the tag,
+		// e.g. zh-cmn-Hans is cmn-Hans
+		if (tag.toString().equalsIgnoreCase(locale.toLanguageTag())) {
+			TAGS.putIfAbsent(locale, tag);
+		}
+		return locale;
+	}
+
+	static LangTag fromLocale(Locale locale) {
+		LangTag tag = TAGS.get(locale);
+		if (tag != null) {
+			Metrics.cacheHit(FROM_LOCALE_CACHE);
+			return tag;
+		}
+		Metrics.cacheMiss(FROM_LOCALE_CACHE);
+		bound();
+		tag = LangTag.parse(locale.toLanguageTag());
+		LangTag cached = TAGS.putIfAbsent(locale, tag);
+		return cached == null ? tag : cached;
+	}
+
+	/** Drops the cached pairs */
+	static void clear() {
+		LOCALES.clear();
+		TAGS.clear();
+	}
+
+	private static void bound() {
+		if (LOCALES.size() >= MAX_SIZE || TAGS.size() >= MAX_SIZE) {
+			clear();
+		}
+	}
+
+}
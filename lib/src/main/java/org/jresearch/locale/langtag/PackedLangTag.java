@@ -0,0 +1,173 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * Fixed width code of the simple language tags: a primary language with the
+ * optional script and region (e.g. "en", "de-AT", "zh-Hans-CN", "es-419") in
+ * one non negative long.
+ *
+ * <pre>
+ * bits  0-14 primary language, 2-3 letters, 5 bits per letter ('a' is 1)
+ * bits 15-34 script, 4 letters, 5 bits per letter, 0 if absent
+ * bits 35-45 region, 1-676 for 2 letters, 677-1676 for 3 digits, 0 if absent
+ * </pre>
+ *
+ * The rest of the tags (extended language subtags, variants, extensions,
+ * private use) has no code, {@link #NONE} is returned for them.
+ */
+final class PackedLangTag {
+
+	static final long NONE = -1L;
+
+	static final int LANGUAGE_SHIFT = 0;
+	static final int SCRIPT_SHIFT = 15;
+	static final int REGION_SHIFT = 35;
+
+	static final long LANGUAGE_MASK = (1L << SCRIPT_SHIFT) - 1;
+	static final long SCRIPT_MASK = (1L << REGION_SHIFT) - 1 ^ LANGUAGE_MASK;
+	static final long REGION_MASK = (1L << 46) - 1 ^ LANGUAGE_MASK ^ SCRIPT_MASK;
+
+	private static final int LETTER_BITS = 5;
+	private static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+	private static final int LETTERS = 26;
+	private static final int ALPHA_REGIONS = LETTERS * LETTERS;
+
+	private PackedLangTag() {
+		// static methods only
+	}
+
+	/**
+	 * @return the code of the tag or {@link #NONE} if the tag is not simple
+	 */
+	static long pack(LangTag tag) {
+		if (!tag.languageSubtags().isEmpty() || !tag.variants().isEmpty() || !tag.extensions().isEmpty() || !tag.privateUse().isEmpty()) {
+			return NONE;
+		}
+		long language = language(tag.primaryLanguage());
+		long script = script(tag.script());
+		long region = region(tag.region());
+		return language == NONE || script == NONE || region == NONE ? NONE : language | script | region;
+	}
+
+	/**
+	 * @return the tag of the code created by {@link #pack(LangTag)}
+	 *
+	 * @throws IllegalArgumentException If the code could not be created by
+	 *                                  {@link #pack(LangTag)}, e.g. was read
+	 *                                  from a corrupted or forged source.
+	 */
+	static LangTag unpack(long code) {
+		if (!isValid(code)) {
+			throw new IllegalArgumentException("Invalid language tag code " + Long.toHexString(code));
+		}
+		String language = Subtags.LANGUAGES.intern(letters(code & LANGUAGE_MASK, LANGUAGE_SHIFT));
+		String script = letters(code & SCRIPT_MASK, SCRIPT_SHIFT);
+		if (!script.isEmpty()) {
+			script = Subtags.SCRIPTS.intern(Character.toUpperCase(script.charAt(0)) + script.substring(1));
+		}
+		int region = (int) ((code & REGION_MASK) >>> REGION_SHIFT);
+		String regionCode = "";
+		if (region > ALPHA_REGIONS) {
+			regionCode = Subtags.REGIONS.intern(String.valueOf(1000 + region - ALPHA_REGIONS - 1).substring(1));
+		} else if (region > 0) {
+			regionCode = Subtags.REGIONS.intern(new String(new char[] { (char) ('A' + (region - 1) / LETTERS), (char) ('A' + (region - 1) % LETTERS) }));
+		}
+		return LangTag.trusted(language, script, regionCode);
+	}
+
+	/**
+	 * @return {@code true} if the code could be created by {@link #pack(LangTag)}:
+	 *         no bits above the region, 2-3 language letters, no or 4 script
+	 *         letters and a region in the range
+	 */
+	static boolean isValid(long code) {
+		if ((code & ~(LANGUAGE_MASK | SCRIPT_MASK | REGION_MASK)) != 0) {
+			return false;
+		}
+		long script = code & SCRIPT_MASK;
+		long region = (code & REGION_MASK) >>> REGION_SHIFT;
+		return isLetters(code & LANGUAGE_MASK, LANGUAGE_SHIFT, 2) && (script == 0 || isLetters(script, SCRIPT_SHIFT, 4)) && region <= ALPHA_REGIONS + 1000;
+	}
+
+	/**
+	 * @return the primary language bits of the code or {@link #NONE} if the
+	 *         language can't be a part of a code
+	 */
+	static long language(String language) {
+		int len = language.length();
+		return len < 2 || len > 3 ? NONE : letters(language, LANGUAGE_SHIFT);
+	}
+
+	static long script(String script) {
+		int len = script.length();
+		return len == 0 ? 0 : len != 4 ? NONE : letters(script, SCRIPT_SHIFT);
+	}
+
+	/**
+	 * @return the region bits of the code or {@link #NONE} if the region can't be
+	 *         a part of a code
+	 */
+	static long region(String region) {
+		int len = region.length();
+		if (len == 0) {
+			return 0;
+		}
+		long value;
+		if (len == 2 && isUp(region.charAt(0)) && isUp(region.charAt(1))) {
+			value = (region.charAt(0) - 'A') * LETTERS + region.charAt(1) - 'A' + 1;
+		} else if (len == 3 && isDigit(region.charAt(0)) && isDigit(region.charAt(1)) && isDigit(region.charAt(2))) {
+			value = ALPHA_REGIONS + 1 + Integer.parseInt(region);
+		} else {
+			return NONE;
+		}
+		return value << REGION_SHIFT;
+	}
+
+	private static long letters(String str, int shift) {
+		long bits = 0;
+		for (int i = 0; i < str.length(); i++) {
+			int letter = (str.charAt(i) | 0x20) - 'a';
+			if (letter < 0 || letter >= LETTERS) {
+				return NONE;
+			}
+			bits |= (long) (letter + 1) << shift + i * LETTER_BITS;
+		}
+		return bits;
+	}
+
+	/**
+	 * @return {@code true} if the bits hold at least {@code min} letters, each in
+	 *         the 1-26 range, with no gaps
+	 */
+	private static boolean isLetters(long bits, int shift, int min) {
+		int count = 0;
+		for (long rest = bits >>> shift; rest != 0; rest >>>= LETTER_BITS) {
+			long letter = rest & LETTER_MASK;
+			if (letter == 0 || letter > LETTERS) {
+				return false;
+			}
+			count++;
+		}
+		return count >= min;
+	}
+
+	private static String letters(long bits, int shift) {
+		StringBuilder str = new StringBuilder(4);
+		for (long rest = bits >>> shift; rest != 0; rest >>>= LETTER_BITS) {
+			str.append((char) ('a' + (rest & LETTER_MASK) - 1));
+		}
+		return str.toString();
+	}
+
+	private static boolean isUp(char c) {
+		return c >= 'A' && c <= 'Z';
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * The subtag collector of {@link LangTag#parse(String)}, one per thread, so
+ * the static parse reuses the lists like {@link LangTagParser} does.
+ */
+final class ScratchParts {
+
+	private static final ThreadLocal<LangTag.Parts> PARTS = ThreadLocal.withInitial(LangTag.Parts::new);
+
+	private ScratchParts() {
+		// static methods only
+	}
+
+	/**
+	 * @return the reset collector of the current thread
+	 */
+	static LangTag.Parts get() {
+		return PARTS.get().reset();
+	}
+
+}
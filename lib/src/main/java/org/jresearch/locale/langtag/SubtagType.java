@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * Classes of the subtags reported by {@link LangTag#scan(CharSequence, SubtagVisitor)}
+ */
+public enum SubtagType {
+	/** Primary language, e.g. {@code zh} */
+	LANGUAGE,
+	/** Extended language subtag, e.g. {@code cmn} */
+	EXTLANG,
+	/** Script, e.g. {@code Hans} */
+	SCRIPT,
+	/** Region, e.g. {@code CN} or {@code 419} */
+	REGION,
+	/** Variant, e.g. {@code 1901} */
+	VARIANT,
+	/** Extension singleton, e.g. {@code u} */
+	EXTENSION_SINGLETON,
+	/** Extension subtag after the singleton, e.g. {@code nu} or {@code hans} */
+	EXTENSION,
+	/** Private use singleton {@code x} */
+	PRIVATE_USE_SINGLETON,
+	/** Private use subtag after the singleton */
+	PRIVATE_USE,
+}
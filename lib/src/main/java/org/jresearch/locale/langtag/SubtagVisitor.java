@@ -0,0 +1,35 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+/**
+ * Receives the classified subtags from
+ * {@link LangTag#scan(CharSequence, SubtagVisitor)}, in the tag order.
+ *
+ * <pre>
+ * // the region only, no objects created
+ * LangTag.scan(text, (type, s, from, to) -&gt; {
+ * 	if (type == SubtagType.REGION) {
+ * 		route(s, from, to);
+ * 		return false;
+ * 	}
+ * 	return type.compareTo(SubtagType.REGION) &lt; 0;
+ * });
+ * </pre>
+ */
+@FunctionalInterface
+public interface SubtagVisitor {
+
+	/**
+	 * @param type the subtag class
+	 * @param s    the scanned text
+	 * @param from the subtag start
+	 * @param to   the subtag end (exclusive)
+	 *
+	 * @return {@code true} to continue, {@code false} to stop the scan
+	 */
+	boolean visit(SubtagType type, CharSequence s, int from, int to);
+
+}
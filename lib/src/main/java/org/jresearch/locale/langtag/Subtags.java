@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import org.jresearch.locale.langtag.parser.ParserUtil;
+
+/**
+ * Static table of the well known subtags in the canonical case. The parsed
+ * subtags found in the table share the table strings, so the millions of "en",
+ * "US" or "Latn" in the memory are the same three strings.
+ *
+ * <p>
+ * The lookup is case insensitive and works on a range of the source text, a
+ * known subtag costs neither a substring nor a case conversion.
+ */
+final class Subtags {
+
+	/** ISO 639-1 and some widely used ISO 639-2/3 codes */
+	static final Subtags LANGUAGES = new Subtags(""
+			+ "aa ab ae af ak am an ar as av ay az ba be bg bh bi bm bn bo br bs ca ce ch co cr cs cu cv cy "
+			+ "da de dv dz ee el en eo es et eu fa ff fi fj fo fr fy ga gd gl gn gu gv ha he hi ho hr ht hu "
+			+ "hy hz ia id ie ig ii ik io is it iu ja jv ka kg ki kj kk kl km kn ko kr ks ku kv kw ky la lb "
+			+ "lg li ln lo lt lu lv mg mh mi mk ml mn mr ms mt my na nb nd ne ng nl nn no nr nv ny oc oj om "
+			+ "or os pa pi pl ps pt qu rm rn ro ru rw sa sc sd se sg si sk sl sm sn so sq sr ss st su sv sw "
+			+ "ta te tg th ti tk tl tn to tr ts tt tw ty ug uk ur uz ve vi vo wa wo xh yi yo za zh zu "
+			+ "ast ceb chr cmn fil gsw haw kok mai nds sah yue und");
+
+	/** Common ISO 15924 codes */
+	static final Subtags SCRIPTS = new Subtags(""
+			+ "Arab Armn Beng Bopo Cyrl Deva Ethi Geor Grek Gujr Guru Hang Hani Hans Hant Hebr Hira Jpan "
+			+ "Kana Khmr Knda Kore Laoo Latn Mlym Mong Mymr Orya Sinh Taml Telu Thaa Thai Tibt Zyyy Zzzz");
+
+	/** ISO 3166-1 codes and some UN M.49 codes */
+	static final Subtags REGIONS = new Subtags(""
+			+ "AD AE AF AG AI AL AM AO AQ AR AS AT AU AW AX AZ BA BB BD BE BF BG BH BI BJ BL BM BN BO BQ BR "
+			+ "BS BT BV BW BY BZ CA CC CD CF CG CH CI CK CL CM CN CO CR CU CV CW CX CY CZ DE DJ DK DM DO DZ "
+			+ "EC EE EG EH ER ES ET FI FJ FK FM FO FR GA GB GD GE GF GG GH GI GL GM GN GP GQ GR GS GT GU GW "
+			+ "GY HK HM HN HR HT HU ID IE IL IM IN IO IQ IR IS IT JE JM JO JP KE KG KH KI KM KN KP KR KW KY "
+			+ "KZ LA LB LC LI LK LR LS LT LU LV LY MA MC MD ME MF MG MH MK ML MM MN MO MP MQ MR MS MT MU MV "
+			+ "MW MX MY MZ NA NC NE NF NG NI NL NO NP NR NU NZ OM PA PE PF PG PH PK PL PM PN PR PS PT PW PY "
+			+ "QA RE RO RS RU RW SA SB SC SD SE SG SH SI SJ SK SL SM SN SO SR SS ST SV SX SY SZ TC TD TF TG "
+			+ "TH TJ TK TL TM TN TO TR TT TV TW TZ UA UG UM US UY UZ VA VC VE VG VI VN VU WF WS YE YT ZA ZM "
+			+ "ZW EU XK 001 150 419");
+
+	/** Open addressing hash table, the size is a power of two */
+	private final String[] table;
+	private final int mask;
+
+	private Subtags(String subtags) {
+		String[] values = subtags.split(" ");
+		table = new String[Integer.highestOneBit(values.length) << 2];
+		mask = table.length - 1;
+		for (String value : values) {
+			int i = hash(value, 0, value.length()) & mask;
+			while (table[i] != null) {
+				i = i + 1 & mask;
+			}
+			table[i] = value;
+		}
+	}
+
+	/**
+	 * Finds the known subtag ignoring case
+	 *
+	 * @param str  the source text
+	 * @param from the first index of the subtag, inclusive
+	 * @param to   the last index of the subtag, exclusive
+	 *
+	 * @return the canonical subtag string or {@code null} if the subtag is unknown
+	 */
+	String find(CharSequence str, int from, int to) {
+		for (int i = hash(str, from, to) & mask;; i = i + 1 & mask) {
+			String value = table[i];
+			if (value == null || matches(value, str, from, to)) {
+				return value;
+			}
+		}
+	}
+
+	/**
+	 * @return the known subtag string equal (ignoring case) to the given one or
+	 *         the given one if the subtag is unknown
+	 */
+	String intern(String subtag) {
+		String value = find(subtag, 0, subtag.length());
+		return value == null ? subtag : value;
+	}
+
+	/** Case insensitive hash, the subtags are ASCII letters and digits */
+	private static int hash(CharSequence str, int from, int to) {
+		int hash = 0;
+		for (int i = from; i < to; i++) {
+			hash = 31 * hash + (str.charAt(i) | 0x20);
+		}
+		return hash ^ hash >>> 16;
+	}
+
+	private static boolean matches(String value, CharSequence str, int from, int to) {
+		if (value.length() != to - from) {
+			return false;
+		}
+		for (int i = from; i < to; i++) {
+			if (!ParserUtil.equalsIgnoreCase(value.charAt(i - from), str.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import org.jresearch.locale.langtag.parser.CharSlice;
+
+/**
+ * Reusable holder of an optionally language tagged name ({@code name#tag}, e.g.
+ * an OpenID claim name), the allocation free alternative of
+ * {@link LangTagUtils#split(String)} and {@link LangTagUtils#extract(String)}.
+ *
+ * <p>
+ * The name and the tag are views of the backing text, nothing is copied. The
+ * language tag is parsed from the tag part of the text on the first
+ * {@link #langTag()} call only.
+ *
+ * <pre>
+ * TaggedName claim = new TaggedName();
+ * for (String key : claims.keySet()) {
+ * 	if (claim.reset(key).name().contentEquals("given_name") &amp;&amp; claim.hasTag()) {
+ * 		// ...
+ * 	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * The views are owned by the holder and change on the next
+ * {@link #reset(CharSequence)}. The holder is not thread safe.
+ */
+public final class TaggedName {
+
+	private static final char SEP = '#';
+
+	private final CharSlice name = new CharSlice();
+	private final CharSlice tag = new CharSlice();
+	private final LangTagView view = new LangTagView();
+
+	private CharSequence text = "";
+	private LangTag langTag;
+	private boolean parsed;
+
+	/**
+	 * Points the holder to the text
+	 *
+	 * @param s the optionally tagged name, must not be {@code null}
+	 *
+	 * @return this holder
+	 */
+	public TaggedName reset(CharSequence s) {
+		text = s;
+		langTag = null;
+		parsed = false;
+		int len = s.length();
+		int pos = indexOf(s, SEP);
+		// "#" is a name, the same as LangTagUtils.split
+		if (pos < 0 || len == 1) {
+			name.set(s, 0, len);
+			tag.set(s, len, len);
+		} else {
+			name.set(s, 0, pos);
+			tag.set(s, pos + 1, len);
+		}
+		return this;
+	}
+
+	/**
+	 * @return the name without the tag
+	 */
+	public CharSlice name() {
+		return name;
+	}
+
+	/**
+	 * @return the tag text as is, empty if there is no tag
+	 */
+	public CharSlice tag() {
+		return tag;
+	}
+
+	/**
+	 * @return {@code true} if the tag is not empty
+	 */
+	public boolean hasTag() {
+		return !tag.isEmpty();
+	}
+
+	/**
+	 * Parses the tag on the first call
+	 *
+	 * @return the language tag, {@code null} if there is no tag
+	 *
+	 * @throws IllegalArgumentException If the tag is invalid.
+	 */
+	public LangTag langTag() {
+		if (!parsed) {
+			if (hasTag()) {
+				int to = text.length();
+				langTag = view.reset(text, to - tag.length(), to).toLangTag();
+			}
+			parsed = true;
+		}
+		return langTag;
+	}
+
+	/**
+	 * @return the backing text
+	 */
+	@Override
+	public String toString() {
+		return text.toString();
+	}
+
+	private static int indexOf(CharSequence s, char c) {
+		int len = s.length();
+		for (int i = 0; i < len; i++) {
+			if (s.charAt(i) == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jresearch.locale.langtag.parser.ParserUtil;
+
+/**
+ * Transformed content extension ("t"), see
+ * <a href="https://www.rfc-editor.org/rfc/rfc6497">RFC 6497</a>.
+ *
+ * <p>
+ * Example, for the {@code und-Latn-t-ru-m0-ungegn-2007} tag:
+ *
+ * <pre>
+ * TransformedExtension ext = tag.transformedExtension();
+ *
+ * // Returns "ru"
+ * ext.source();
+ *
+ * // Returns "ungegn-2007"
+ * ext.field("m0");
+ * </pre>
+ *
+ * <p>
+ * The instance is created on each call of
+ * {@link LangTag#transformedExtension()}, keep it for the repeated lookups.
+ */
+public final class TransformedExtension {
+
+	static final char SINGLETON = 't';
+
+	private static final TransformedExtension EMPTY = new TransformedExtension("", Collections.emptyMap());
+
+	private final String source;
+	private final Map<String, String> fields;
+
+	private TransformedExtension(String source, Map<String, String> fields) {
+		this.source = source;
+		this.fields = fields;
+	}
+
+	/**
+	 * Parses the extension
+	 *
+	 * @param extension canonical extension with singleton (e.g. t-it-m0-ungegn) or
+	 *                  an empty string
+	 */
+	static TransformedExtension of(String extension) {
+		if (extension.isEmpty()) {
+			return EMPTY;
+		}
+		Map<String, String> fields = new LinkedHashMap<>();
+		int len = extension.length();
+		// skip singleton
+		int from = 2;
+		int sourceTo = len;
+		String key = null;
+		int valueFrom = from;
+		while (from < len) {
+			int to = Extensions.end(extension, from);
+			if (isFieldKey(extension, from, to)) {
+				if (key == null) {
+					sourceTo = Math.max(from - 1, 2);
+				}
+				Extensions.put(fields, key, extension, valueFrom, from - 1);
+				key = extension.substring(from, to);
+				valueFrom = to + 1;
+			}
+			from = to + 1;
+		}
+		Extensions.put(fields, key, extension, valueFrom, len);
+		return new TransformedExtension(extension.substring(2, sourceTo), Collections.unmodifiableMap(fields));
+	}
+
+	private static boolean isFieldKey(String extension, int from, int to) {
+		return to - from == 2 && ParserUtil.isAlpha(extension.charAt(from)) && ParserUtil.isNum(extension.charAt(from + 1));
+	}
+
+	/**
+	 * @return the source language tag of the transformed content (e.g. "it" or
+	 *         "und-Cyrl") or an empty string
+	 */
+	public String source() {
+		return source;
+	}
+
+	/**
+	 * @return fields (key to value), in the tag order
+	 */
+	public Map<String, String> fields() {
+		return fields;
+	}
+
+	/**
+	 * Returns the field value
+	 *
+	 * @param key the field key, e.g. "m0"
+	 *
+	 * @return the value or {@code null} if there is no such field
+	 */
+	public String field(String key) {
+		return fields.get(ParserUtil.low(key));
+	}
+
+	public boolean isEmpty() {
+		return source.isEmpty() && fields.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "TransformedExtension [source=" + source + ", fields=" + fields + "]";
+	}
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jresearch.locale.langtag.parser.ParserUtil;
+
+/**
+ * Unicode locale extension ("u"), see
+ * <a href="https://www.rfc-editor.org/rfc/rfc6067">RFC 6067</a> and
+ * <a href="https://www.unicode.org/reports/tr35/#unicode_locale_extensions">UTS
+ * #35</a>.
+ *
+ * <p>
+ * Example, for the {@code th-TH-u-ca-buddhist-nu-thai} tag:
+ *
+ * <pre>
+ * UnicodeExtension ext = tag.unicodeExtension();
+ *
+ * // Returns "buddhist"
+ * ext.keyword("ca");
+ *
+ * // Returns "thai"
+ * ext.keyword("nu");
+ * </pre>
+ *
+ * <p>
+ * The instance is created on each call of
+ * {@link LangTag#unicodeExtension()}, keep it for the repeated lookups.
+ */
+public final class UnicodeExtension {
+
+	static final char SINGLETON = 'u';
+
+	private static final UnicodeExtension EMPTY = new UnicodeExtension(Collections.emptyList(), Collections.emptyMap());
+
+	private final List<String> attributes;
+	private final Map<String, String> keywords;
+
+	private UnicodeExtension(List<String> attributes, Map<String, String> keywords) {
+		this.attributes = attributes;
+		this.keywords = keywords;
+	}
+
+	/**
+	 * Parses the extension
+	 *
+	 * @param extension canonical extension with singleton (e.g. u-nu-thai) or an
+	 *                  empty string
+	 */
+	static UnicodeExtension of(String extension) {
+		if (extension.isEmpty()) {
+			return EMPTY;
+		}
+		List<String> attributes = new ArrayList<>();
+		Map<String, String> keywords = new LinkedHashMap<>();
+		int len = extension.length();
+		// skip singleton
+		int from = 2;
+		String key = null;
+		int valueFrom = from;
+		while (from < len) {
+			int to = Extensions.end(extension, from);
+			if (to - from == 2) {
+				// new key
+				Extensions.put(keywords, key, extension, valueFrom, from - 1);
+				key = extension.substring(from, to);
+				valueFrom = to + 1;
+			} else if (key == null) {
+				attributes.add(extension.substring(from, to));
+			}
+			from = to + 1;
+		}
+		Extensions.put(keywords, key, extension, valueFrom, len);
+		return new UnicodeExtension(Extensions.list(attributes), Collections.unmodifiableMap(keywords));
+	}
+
+	/**
+	 * @return the attributes (subtags before the first keyword)
+	 */
+	public List<String> attributes() {
+		return attributes;
+	}
+
+	/**
+	 * @return keywords (key to type), in the tag order. The type of a keyword
+	 *         without subtags is an empty string.
+	 */
+	public Map<String, String> keywords() {
+		return keywords;
+	}
+
+	/**
+	 * Returns the keyword type
+	 *
+	 * @param key the keyword key, e.g. "ca", "nu" or "co"
+	 *
+	 * @return the type (e.g. "buddhist" or "islamic-civil"), an empty string for
+	 *         a keyword without type or {@code null} if there is no such keyword
+	 */
+	public String keyword(String key) {
+		return keywords.get(ParserUtil.low(key));
+	}
+
+	public boolean isEmpty() {
+		return attributes.isEmpty() && keywords.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "UnicodeExtension [attributes=" + attributes + ", keywords=" + keywords + "]";
+	}
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the construction of the language tags which parts are already
+ * validated and normalized, e.g. by the parser. The {@link LangTag} check
+ * methods do nothing for such tags.
+ */
+final class Validation {
+
+	private static final ThreadLocal<boolean[]> SKIPPED = ThreadLocal.withInitial(() -> new boolean[1]);
+
+	private Validation() {
+		// static methods only
+	}
+
+	/**
+	 * @return {@code true} if the current thread constructs a trusted tag
+	 */
+	static boolean skipped() {
+		return SKIPPED.get()[0];
+	}
+
+	/**
+	 * Creates the trusted value, the tag checks are skipped during the call
+	 */
+	static <T> T skip(Supplier<T> factory) {
+		boolean[] skipped = SKIPPED.get();
+		boolean outer = skipped[0];
+		skipped[0] = true;
+		try {
+			return factory.get();
+		} finally {
+			skipped[0] = outer;
+		}
+	}
+
+}
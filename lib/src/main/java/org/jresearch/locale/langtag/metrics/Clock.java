@@ -0,0 +1,21 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+/**
+ * Time source of the parse latencies. The GWT super-source has no
+ * {@link System#nanoTime()}, it uses the browser clock.
+ */
+final class Clock {
+
+	private Clock() {
+		// static methods only
+	}
+
+	static long nanoTime() {
+		return System.nanoTime();
+	}
+
+}
@@ -0,0 +1,27 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+/**
+ * Reasons of the language tag parse or validation failures
+ */
+public enum Failure {
+	/** Missed or invalid primary language */
+	PRIMARY_LANGUAGE,
+	/** Invalid extended language subtag */
+	EXTENDED_LANGUAGE,
+	/** Invalid script */
+	SCRIPT,
+	/** Invalid region */
+	REGION,
+	/** Invalid variant */
+	VARIANT,
+	/** Invalid or empty extension */
+	EXTENSION,
+	/** Invalid or empty private use part */
+	PRIVATE_USE,
+	/** Unexpected subtags after the end of the tag */
+	TRAILING,
+}
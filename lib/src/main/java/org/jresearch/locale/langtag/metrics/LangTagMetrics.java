@@ -0,0 +1,71 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+/**
+ * Receives the language tag processing events, see {@link Metrics#install}.
+ * All methods do nothing by default. Implementations are called on the hot
+ * path and must be thread safe and cheap, e.g. {@link StripedMetrics}.
+ */
+public interface LangTagMetrics {
+
+	/**
+	 * A tag is parsed successfully
+	 */
+	default void parsed() {
+		// nothing
+	}
+
+	/**
+	 * A tag is rejected by the parser or by the validation
+	 *
+	 * @param reason the failed part
+	 */
+	default void failed(Failure reason) {
+		// nothing
+	}
+
+	/**
+	 * A tag is rebuilt to bring a part to the canonical form
+	 */
+	default void normalized() {
+		// nothing
+	}
+
+	/**
+	 * A cache returned the stored value
+	 *
+	 * @param cache the cache name
+	 */
+	default void cacheHit(String cache) {
+		// nothing
+	}
+
+	/**
+	 * A cache has no value, the value is computed
+	 *
+	 * @param cache the cache name
+	 */
+	default void cacheMiss(String cache) {
+		// nothing
+	}
+
+	/**
+	 * @return {@code true} to receive the parse latencies, {@link #parseTime}
+	 */
+	default boolean timed() {
+		return false;
+	}
+
+	/**
+	 * A tag is parsed, called only if {@link #timed()}
+	 *
+	 * @param nanos the parse time in nanoseconds
+	 */
+	default void parseTime(long nanos) {
+		// nothing
+	}
+
+}
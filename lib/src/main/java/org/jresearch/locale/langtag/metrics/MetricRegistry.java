@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal registry to publish the {@link StripedMetrics} counters to a
+ * monitoring library, e.g. for Micrometer:
+ *
+ * <pre>
+ * metrics.bindTo((name, tagKey, tagValue, count) -&gt; FunctionCounter
+ * 		.builder(name, count, LongSupplier::getAsLong)
+ * 		.tags(tagKey == null ? Tags.empty() : Tags.of(tagKey, tagValue))
+ * 		.register(meterRegistry));
+ * </pre>
+ */
+@FunctionalInterface
+public interface MetricRegistry {
+
+	/**
+	 * Registers the monotonic counter
+	 *
+	 * @param name     the counter name
+	 * @param tagKey   the tag key or {@code null} for a counter without tags
+	 * @param tagValue the tag value or {@code null} for a counter without tags
+	 * @param count    the current counter value
+	 */
+	void counter(String name, String tagKey, String tagValue, LongSupplier count);
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+import java.util.Objects;
+
+/**
+ * Holder of the installed {@link LangTagMetrics}. Without installed metrics
+ * each event costs one static field read.
+ *
+ * <pre>
+ * StripedMetrics metrics = new StripedMetrics();
+ * Metrics.install(metrics);
+ * </pre>
+ */
+public final class Metrics {
+
+	private static final LangTagMetrics NOOP = new LangTagMetrics() {
+		// all defaults
+	};
+
+	private static volatile LangTagMetrics current = NOOP;
+	private static volatile boolean enabled;
+
+	private Metrics() {
+		// static methods only
+	}
+
+	/**
+	 * Installs the metrics, replaces the previous one
+	 *
+	 * @param metrics the metrics to receive the events
+	 */
+	public static void install(LangTagMetrics metrics) {
+		current = Objects.requireNonNull(metrics);
+		enabled = metrics != NOOP;
+	}
+
+	/**
+	 * Removes the installed metrics
+	 */
+	public static void uninstall() {
+		install(NOOP);
+	}
+
+	/**
+	 * @return {@code true} if there are installed metrics
+	 */
+	public static boolean enabled() {
+		return enabled;
+	}
+
+	/**
+	 * @return the installed metrics or the no-op one
+	 */
+	public static LangTagMetrics get() {
+		return current;
+	}
+
+	/**
+	 * @return the current time in nanoseconds for the parse latencies, see
+	 *         {@link LangTagMetrics#parseTime(long)}. Only the differences are
+	 *         meaningful.
+	 */
+	public static long nanoTime() {
+		return Clock.nanoTime();
+	}
+
+	public static void failed(Failure reason) {
+		if (enabled) {
+			current.failed(reason);
+		}
+	}
+
+	public static void normalized() {
+		if (enabled) {
+			current.normalized();
+		}
+	}
+
+	public static void cacheHit(String cache) {
+		if (enabled) {
+			current.cacheHit(cache);
+		}
+	}
+
+	public static void cacheMiss(String cache) {
+		if (enabled) {
+			current.cacheMiss(cache);
+		}
+	}
+
+}
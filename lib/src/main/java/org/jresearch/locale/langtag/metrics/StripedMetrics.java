@@ -0,0 +1,188 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counting {@link LangTagMetrics} based on the striped {@link LongAdder}
+ * counters, so the concurrent updates do not contend. Optionally collects the
+ * parse latency histogram with the power of two nanosecond buckets.
+ *
+ * <p>
+ * The counters can be read directly or published with
+ * {@link #bindTo(MetricRegistry)}. JVM only, excluded from the GWT module.
+ */
+public class StripedMetrics implements LangTagMetrics {
+
+	public static final String PARSE = "langtag.parse";
+	public static final String FAILURE = "langtag.failure";
+	public static final String NORMALIZE = "langtag.normalize";
+	public static final String CACHE_HIT = "langtag.cache.hit";
+	public static final String CACHE_MISS = "langtag.cache.miss";
+	public static final String PARSE_TIME = "langtag.parse.time";
+
+	private static final String REASON = "reason";
+	private static final String CACHE = "cache";
+	private static final String LE = "le";
+
+	/** Buckets up to 2^31 ns (~2 s) and the last one for the slower */
+	private static final int BUCKETS = 32;
+
+	private final boolean timed;
+	private final LongAdder parses = new LongAdder();
+	private final LongAdder normalizations = new LongAdder();
+	private final Map<Failure, LongAdder> failures = new EnumMap<>(Failure.class);
+	private final ConcurrentMap<String, LongAdder> hits = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, LongAdder> misses = new ConcurrentHashMap<>();
+	private final LongAdder[] latencies;
+
+	/** Guards the counter registration */
+	private final Object lock = new Object();
+	private MetricRegistry registry;
+
+	/**
+	 * Creates counters without latency histogram
+	 */
+	public StripedMetrics() {
+		this(false);
+	}
+
+	/**
+	 * @param timed {@code true} to collect the parse latency histogram
+	 */
+	public StripedMetrics(boolean timed) {
+		this.timed = timed;
+		for (Failure reason : Failure.values()) {
+			failures.put(reason, new LongAdder());
+		}
+		latencies = new LongAdder[timed ? BUCKETS : 0];
+		for (int i = 0; i < latencies.length; i++) {
+			latencies[i] = new LongAdder();
+		}
+	}
+
+	@Override
+	public void parsed() {
+		parses.increment();
+	}
+
+	@Override
+	public void failed(Failure reason) {
+		failures.get(reason).increment();
+	}
+
+	@Override
+	public void normalized() {
+		normalizations.increment();
+	}
+
+	@Override
+	public void cacheHit(String cache) {
+		counter(hits, CACHE_HIT, cache).increment();
+	}
+
+	@Override
+	public void cacheMiss(String cache) {
+		counter(misses, CACHE_MISS, cache).increment();
+	}
+
+	@Override
+	public boolean timed() {
+		return timed;
+	}
+
+	@Override
+	public void parseTime(long nanos) {
+		latencies[bucket(nanos)].increment();
+	}
+
+	private static int bucket(long nanos) {
+		return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 1) - 1));
+	}
+
+	private LongAdder counter(ConcurrentMap<String, LongAdder> counters, String name, String cache) {
+		LongAdder counter = counters.get(cache);
+		if (counter != null) {
+			return counter;
+		}
+		// a new cache is registered exactly once, here or by bindTo
+		synchronized (lock) {
+			return counters.computeIfAbsent(cache, key -> register(name, key, new LongAdder()));
+		}
+	}
+
+	/** Must be called under the lock */
+	private LongAdder register(String name, String cache, LongAdder counter) {
+		if (registry != null) {
+			registry.counter(name, CACHE, cache, counter::sum);
+		}
+		return counter;
+	}
+
+	public long parses() {
+		return parses.sum();
+	}
+
+	public long failures(Failure reason) {
+		return failures.get(reason).sum();
+	}
+
+	public long normalizations() {
+		return normalizations.sum();
+	}
+
+	public long cacheHits(String cache) {
+		LongAdder counter = hits.get(cache);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	public long cacheMisses(String cache) {
+		LongAdder counter = misses.get(cache);
+		return counter == null ? 0 : counter.sum();
+	}
+
+	/**
+	 * Returns the latency histogram, the bucket {@code i} counts the parses
+	 * faster than or equal to {@code 2^i} ns (and slower than the previous
+	 * bucket). The last bucket counts all the slower parses.
+	 *
+	 * @return the bucket counts, empty if the metrics are not timed
+	 */
+	public long[] parseTimes() {
+		long[] result = new long[latencies.length];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = latencies[i].sum();
+		}
+		return result;
+	}
+
+	/**
+	 * Registers the counters in the registry. The counters of the caches seen
+	 * later are registered on the first event.
+	 *
+	 * @param target the registry
+	 */
+	public void bindTo(MetricRegistry target) {
+		target.counter(PARSE, null, null, parses::sum);
+		target.counter(NORMALIZE, null, null, normalizations::sum);
+		failures.forEach((reason, counter) -> target.counter(FAILURE, REASON, reason.name().toLowerCase(Locale.ROOT), counter::sum));
+		synchronized (lock) {
+			registry = target;
+			hits.forEach((cache, counter) -> target.counter(CACHE_HIT, CACHE, cache, counter::sum));
+			misses.forEach((cache, counter) -> target.counter(CACHE_MISS, CACHE, cache, counter::sum));
+		}
+		for (int i = 0; i < latencies.length; i++) {
+			String le = i == latencies.length - 1 ? "+Inf" : Long.toString(1L << i);
+			target.counter(PARSE_TIME, LE, le, latencies[i]::sum);
+		}
+	}
+
+}
@@ -0,0 +1,105 @@
+package org.jresearch.locale.langtag.parser;
+
+/**
+ * Mutable view of a character sequence range. Used to return parts of a bigger
+ * text without copying, the same instance may be pointed to another range
+ * later, so it has identity equality.
+ */
+public final class CharSlice implements CharSequence {
+
+	private CharSequence source = "";
+	private int from;
+	private int to;
+
+	/**
+	 * Points the slice to the given range
+	 *
+	 * @param src   the source sequence
+	 * @param start the first index, inclusive
+	 * @param end   the last index, exclusive
+	 *
+	 * @return this slice
+	 */
+	public CharSlice set(CharSequence src, int start, int end) {
+		if (start < 0 || end < start || end > src.length()) {
+			throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is out of [0, " + src.length() + ")");
+		}
+		this.source = src;
+		this.from = start;
+		this.to = end;
+		return this;
+	}
+
+	/**
+	 * Points the slice to the empty range
+	 *
+	 * @return this slice
+	 */
+	public CharSlice clear() {
+		return set("", 0, 0);
+	}
+
+	@Override
+	public int length() {
+		return to - from;
+	}
+
+	public boolean isEmpty() {
+		return to == from;
+	}
+
+	@Override
+	public char charAt(int index) {
+		if (index < 0 || index >= to - from) {
+			throw new IndexOutOfBoundsException("Index " + index + " is out of [0, " + length() + ")");
+		}
+		return source.charAt(from + index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		if (start < 0 || end < start || end > to - from) {
+			throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") is out of [0, " + length() + ")");
+		}
+		return new CharSlice().set(source, from + start, from + end);
+	}
+
+	/**
+	 * Compares the slice content with the given sequence
+	 */
+	public boolean contentEquals(CharSequence str) {
+		int len = to - from;
+		if (str.length() != len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (source.charAt(from + i) != str.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Compares the slice content with the given sequence ignoring the case of
+	 * ASCII letters
+	 */
+	public boolean equalsIgnoreCase(CharSequence str) {
+		int len = to - from;
+		if (str.length() != len) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (!ParserUtil.equalsIgnoreCase(source.charAt(from + i), str.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return source.subSequence(from, to).toString();
+	}
+
+}
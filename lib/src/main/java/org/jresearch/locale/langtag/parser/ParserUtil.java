@@ -1,130 +1,331 @@
-package org.jresearch.locale.langtag.parser;
-
-import java.util.function.Predicate;
-
-/**
- * Simple methods to work with ASCII String
- */
-public class ParserUtil {
-
-	public static final Predicate<String> LOW_STR = ParserUtil::isLow;
-
-	private static final CharPredicate UP = ParserUtil::isUp;
-	private static final CharPredicate LOW = ParserUtil::isLow;
-	private static final CharPredicate NOT_UP = UP.negate();
-	private static final CharPredicate NOT_LOW = LOW.negate();
-	private static final CharPredicate ALPHA = UP.or(LOW);
-	private static final CharPredicate NUM = ParserUtil::isNum;
-	private static final CharPredicate ALPHA_NUM = ALPHA.or(NUM);
-
-	private static char tit(char c, int p) {
-		return p == 0 ? up(c) : low(c);
-	}
-
-	private static boolean isTit(char c, int p) {
-		return p == 0 ? isUp(c) : isLow(c);
-	}
-
-	private static char up(char c) {
-		return isLow(c) ? (char) (c - ' ') : c;
-	}
-
-	private static char low(char c) {
-		return isUp(c) ? (char) (c + ' ') : c;
-	}
-
-	private static boolean isUp(char c) {
-		return 'A' <= c && c <= 'Z';
-	}
-
-	private static boolean isLow(char c) {
-		return 'a' <= c && c <= 'z';
-	}
-
-	public static boolean isNum(char c) {
-		return '0' <= c && c <= '9';
-	}
-
-	public static boolean isAlphaNum(char c) {
-		return ALPHA_NUM.test(c);
-	}
-
-	public static boolean isAlpha(char c) {
-		return ALPHA.test(c);
-	}
-
-	public static boolean equalsIgnoreCase(char c1, char c2) {
-		return c1 == c2 || low(c1) == low(c2);
-	}
-
-	public static String tit(String str) {
-		return mapPos(str, ParserUtil::isTit, ParserUtil::tit);
-	}
-
-	public static boolean isTit(String str) {
-		return isPos(str, ParserUtil::isTit);
-	}
-
-	public static String low(String str) {
-		return map(str, NOT_UP, ParserUtil::low);
-	}
-
-	public static String up(String str) {
-		return map(str, NOT_LOW, ParserUtil::up);
-	}
-
-	public static boolean isAlpha(String str) {
-		return is(str, ALPHA);
-	}
-
-	public static boolean isNum(String str) {
-		return is(str, NUM);
-	}
-
-	public static boolean isAlphaNum(String str) {
-		return is(str, ALPHA_NUM);
-	}
-
-	public static boolean isLow(String str) {
-		return is(str, NOT_UP);
-	}
-
-	public static boolean isUp(String str) {
-		return is(str, NOT_LOW);
-	}
-
-	private static boolean is(String str, CharPredicate check) {
-		return isPos(str, (c, p) -> check.test(c));
-	}
-
-	private static boolean isPos(String str, CharPosPredicate check) {
-		int len = str.length();
-		for (int i = 0; i < len; i++) {
-			if (!check.test(str.charAt(i), i)) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	static String map(String str, CharPredicate check, CharFunction mapper) {
-		return mapPos(str, (c, p) -> check.test(c), (c, p) -> mapper.apply(c));
-	}
-
-	private static String mapPos(String str, CharPosPredicate check, CharPosFunction mapper) {
-		int len = str.length();
-		int i = 0;
-		while (i < len && check.test(str.charAt(i), i)) {
-			i++;
-		}
-		if (i == len) {
-			return str;
-		}
-		char[] buf = str.toCharArray();
-		while (i < len) {
-			buf[i] = mapper.apply(buf[i++], i);
-		}
-		return new String(buf);
-	}
-
-}
+package org.jresearch.locale.langtag.parser;
+
+import java.util.function.Predicate;
+
+/**
+ * Simple methods to work with ASCII String
+ *
+ * <p>
+ * Character classes are resolved with a single lookup in a 128-entry table,
+ * string checks and case mappings are plain loops over that table. Strings up
+ * to 8 characters (all the subtags except the private use ones) are packed to
+ * a long and processed by {@link Swar} at once.
+ */
+public class ParserUtil {
+
+	public static final Predicate<String> LOW_STR = ParserUtil::isLow;
+
+	private static final int UP = 1;
+	private static final int LOW = 1 << 1;
+	private static final int NUM = 1 << 2;
+	private static final int ALPHA = UP | LOW;
+	private static final int ALPHA_NUM = ALPHA | NUM;
+
+	private static final char ASCII_SIZE = 128;
+	private static final int CASE_SHIFT = 'a' - 'A';
+
+	/** Class bits of the ASCII characters, indexed by the character code */
+	private static final byte[] CLASSES = new byte[ASCII_SIZE];
+
+	static {
+		for (char c = 'A'; c <= 'Z'; c++) {
+			CLASSES[c] = UP;
+		}
+		for (char c = 'a'; c <= 'z'; c++) {
+			CLASSES[c] = LOW;
+		}
+		for (char c = '0'; c <= '9'; c++) {
+			CLASSES[c] = NUM;
+		}
+	}
+
+	private static boolean is(char c, int classes) {
+		return c < ASCII_SIZE && (CLASSES[c] & classes) != 0;
+	}
+
+	private static char up(char c) {
+		return is(c, LOW) ? (char) (c - CASE_SHIFT) : c;
+	}
+
+	private static char low(char c) {
+		return is(c, UP) ? (char) (c + CASE_SHIFT) : c;
+	}
+
+	public static boolean isNum(char c) {
+		return is(c, NUM);
+	}
+
+	public static boolean isAlphaNum(char c) {
+		return is(c, ALPHA_NUM);
+	}
+
+	public static boolean isAlpha(char c) {
+		return is(c, ALPHA);
+	}
+
+	public static boolean equalsIgnoreCase(char c1, char c2) {
+		return c1 == c2 || low(c1) == low(c2);
+	}
+
+	public static String tit(String str) {
+		int len = str.length();
+		long word = word(str, 0, len);
+		if (word != Swar.NOT_ASCII) {
+			return Swar.isTit(word, len) ? str : Swar.toString(Swar.tit(word), len);
+		}
+		if (isTit(str)) {
+			return str;
+		}
+		char[] buf = str.toCharArray();
+		buf[0] = up(buf[0]);
+		for (int i = 1; i < buf.length; i++) {
+			buf[i] = low(buf[i]);
+		}
+		return new String(buf);
+	}
+
+	public static boolean isTit(String str) {
+		int len = str.length();
+		long word = word(str, 0, len);
+		if (word != Swar.NOT_ASCII) {
+			return Swar.isTit(word, len);
+		}
+		return len == 0 || is(str.charAt(0), UP) && all(str, 1, len, LOW);
+	}
+
+	public static String low(String str) {
+		long word = word(str, 0, str.length());
+		if (word != Swar.NOT_ASCII) {
+			return Swar.hasUp(word) ? Swar.toString(Swar.low(word), str.length()) : str;
+		}
+		int i = first(str, UP);
+		if (i < 0) {
+			return str;
+		}
+		char[] buf = str.toCharArray();
+		for (; i < buf.length; i++) {
+			buf[i] = low(buf[i]);
+		}
+		return new String(buf);
+	}
+
+	public static String up(String str) {
+		long word = word(str, 0, str.length());
+		if (word != Swar.NOT_ASCII) {
+			return Swar.hasLow(word) ? Swar.toString(Swar.up(word), str.length()) : str;
+		}
+		int i = first(str, LOW);
+		if (i < 0) {
+			return str;
+		}
+		char[] buf = str.toCharArray();
+		for (; i < buf.length; i++) {
+			buf[i] = up(buf[i]);
+		}
+		return new String(buf);
+	}
+
+	public static boolean isAlpha(String str) {
+		int len = str.length();
+		long word = word(str, 0, len);
+		return word != Swar.NOT_ASCII ? Swar.isAlpha(word, len) : all(str, 0, len, ALPHA);
+	}
+
+	public static boolean isNum(String str) {
+		int len = str.length();
+		long word = word(str, 0, len);
+		return word != Swar.NOT_ASCII ? Swar.isNum(word, len) : all(str, 0, len, NUM);
+	}
+
+	public static boolean isAlphaNum(String str) {
+		int len = str.length();
+		long word = word(str, 0, len);
+		return word != Swar.NOT_ASCII ? Swar.isAlphaNum(word, len) : all(str, 0, len, ALPHA_NUM);
+	}
+
+	public static boolean isLow(String str) {
+		long word = word(str, 0, str.length());
+		return word != Swar.NOT_ASCII ? !Swar.hasUp(word) : first(str, UP) < 0;
+	}
+
+	public static boolean isUp(String str) {
+		long word = word(str, 0, str.length());
+		return word != Swar.NOT_ASCII ? !Swar.hasLow(word) : first(str, LOW) < 0;
+	}
+
+	/**
+	 * Checks that all characters in the given range are ASCII letters
+	 *
+	 * @param str  the sequence to check
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static boolean isAlpha(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		return word != Swar.NOT_ASCII ? Swar.isAlpha(word, to - from) : all(str, from, to, ALPHA);
+	}
+
+	/**
+	 * Checks that all characters in the given range are ASCII digits
+	 *
+	 * @param str  the sequence to check
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static boolean isNum(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		return word != Swar.NOT_ASCII ? Swar.isNum(word, to - from) : all(str, from, to, NUM);
+	}
+
+	/**
+	 * Checks that all characters in the given range are ASCII letters or digits
+	 *
+	 * @param str  the sequence to check
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static boolean isAlphaNum(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		return word != Swar.NOT_ASCII ? Swar.isAlphaNum(word, to - from) : all(str, from, to, ALPHA_NUM);
+	}
+
+	/**
+	 * Checks that the given range has no upper case ASCII letters
+	 *
+	 * @param str  the sequence to check
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static boolean isLow(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		if (word != Swar.NOT_ASCII) {
+			return !Swar.hasUp(word);
+		}
+		for (int i = from; i < to; i++) {
+			if (is(str.charAt(i), UP)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Converts the given range to the lower case, a String is created once: the
+	 * lower case range is a substring, the rest is converted in place
+	 *
+	 * @param str  the source sequence
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static String low(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		if (word != Swar.NOT_ASCII) {
+			return Swar.hasUp(word) ? Swar.toString(Swar.low(word), to - from) : range(str, from, to);
+		}
+		if (isLow(str, from, to)) {
+			return range(str, from, to);
+		}
+		char[] buf = new char[to - from];
+		lowerInto(str, from, to, buf, 0);
+		return new String(buf);
+	}
+
+	/**
+	 * Converts the given range to the upper case, see
+	 * {@link #low(CharSequence, int, int)}. The regions fit a {@link Swar} word,
+	 * a longer range is copied twice.
+	 *
+	 * @param str  the source sequence
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static String up(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		if (word != Swar.NOT_ASCII) {
+			return Swar.hasLow(word) ? Swar.toString(Swar.up(word), to - from) : range(str, from, to);
+		}
+		return up(range(str, from, to));
+	}
+
+	/**
+	 * Converts the given range to the title case, see
+	 * {@link #low(CharSequence, int, int)}. The scripts fit a {@link Swar} word,
+	 * a longer range is copied twice.
+	 *
+	 * @param str  the source sequence
+	 * @param from the first index, inclusive
+	 * @param to   the last index, exclusive
+	 */
+	public static String tit(CharSequence str, int from, int to) {
+		long word = word(str, from, to);
+		if (word != Swar.NOT_ASCII) {
+			return Swar.isTit(word, to - from) ? range(str, from, to) : Swar.toString(Swar.tit(word), to - from);
+		}
+		return tit(range(str, from, to));
+	}
+
+	/**
+	 * Copies the given range to the buffer converting ASCII letters to the lower
+	 * case
+	 *
+	 * @param str    the source sequence
+	 * @param from   the first index, inclusive
+	 * @param to     the last index, exclusive
+	 * @param dst    the destination buffer
+	 * @param offset the first position to write in the destination buffer
+	 *
+	 * @return the position in the destination buffer after the last written
+	 *         character
+	 */
+	public static int lowerInto(CharSequence str, int from, int to, char[] dst, int offset) {
+		int pos = offset;
+		for (int i = from; i < to; i++) {
+			dst[pos++] = low(str.charAt(i));
+		}
+		return pos;
+	}
+
+	/** The range as is, a String source is not copied if the range is whole */
+	private static String range(CharSequence str, int from, int to) {
+		return str.subSequence(from, to).toString();
+	}
+
+	/**
+	 * Packs a short range to a {@link Swar} word
+	 *
+	 * @return the word or {@link Swar#NOT_ASCII} if the range should be processed
+	 *         by characters
+	 */
+	private static long word(CharSequence str, int from, int to) {
+		return to - from <= Swar.WIDTH ? Swar.load(str, from, to) : Swar.NOT_ASCII;
+	}
+
+	private static boolean all(String str, int from, int to, int classes) {
+		for (int i = from; i < to; i++) {
+			if (!is(str.charAt(i), classes)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean all(CharSequence str, int from, int to, int classes) {
+		for (int i = from; i < to; i++) {
+			if (!is(str.charAt(i), classes)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int first(String str, int classes) {
+		int len = str.length();
+		for (int i = 0; i < len; i++) {
+			if (is(str.charAt(i), classes)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+}
@@ -0,0 +1,118 @@
+package org.jresearch.locale.langtag.parser;
+
+/**
+ * SIMD within a register: checks and case mappings of up to 8 ASCII characters
+ * packed into one long, a byte per character, the first character in the
+ * lowest byte.
+ *
+ * <p>
+ * Each byte of a packed word is below 0x80, so adding a per-byte constant up to
+ * 0x80 never carries into the next byte and the byte high bit can be used as
+ * the result flag. The GWT super-source of {@link ParserUtil} works on the
+ * native JavaScript strings and does not use the words.
+ */
+final class Swar {
+
+	/** Max characters in a word */
+	static final int WIDTH = Long.BYTES;
+
+	/** Result of {@link #load(CharSequence, int, int)} for non ASCII input */
+	static final long NOT_ASCII = -1L;
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGH = 0x8080808080808080L;
+	private static final long CASE = 0x20 * ONES;
+
+	private Swar() {
+		// static methods only
+	}
+
+	/**
+	 * Packs the given range (at most {@link #WIDTH} characters) to a word
+	 *
+	 * @return the word or {@link #NOT_ASCII}
+	 */
+	static long load(CharSequence str, int from, int to) {
+		long word = 0;
+		for (int i = to - 1; i >= from; i--) {
+			char c = str.charAt(i);
+			if (c >= 0x80) {
+				return NOT_ASCII;
+			}
+			word = word << 8 | c;
+		}
+		return word;
+	}
+
+	static String toString(long word, int len) {
+		char[] buf = new char[len];
+		for (int i = 0; i < len; i++) {
+			buf[i] = (char) (word >>> (i << 3) & 0xFF);
+		}
+		return new String(buf);
+	}
+
+	/** High bit set in each byte with a value from lo to hi */
+	private static long inRange(long word, int lo, int hi) {
+		return (word + (0x80 - lo) * ONES) & ~(word + (0x7F - hi) * ONES) & HIGH;
+	}
+
+	private static long upBits(long word) {
+		return inRange(word, 'A', 'Z');
+	}
+
+	private static long lowBits(long word) {
+		return inRange(word, 'a', 'z');
+	}
+
+	private static long alphaBits(long word) {
+		return lowBits(word | CASE);
+	}
+
+	private static long numBits(long word) {
+		return inRange(word, '0', '9');
+	}
+
+	private static boolean all(long bits, int len) {
+		long high = len == WIDTH ? HIGH : HIGH & (1L << (len << 3)) - 1;
+		return (bits & high) == high;
+	}
+
+	static boolean isAlpha(long word, int len) {
+		return all(alphaBits(word), len);
+	}
+
+	static boolean isNum(long word, int len) {
+		return all(numBits(word), len);
+	}
+
+	static boolean isAlphaNum(long word, int len) {
+		return all(alphaBits(word) | numBits(word), len);
+	}
+
+	static boolean hasUp(long word) {
+		return upBits(word) != 0;
+	}
+
+	static boolean hasLow(long word) {
+		return lowBits(word) != 0;
+	}
+
+	static boolean isTit(long word, int len) {
+		return len == 0 || (upBits(word) & 0x80) != 0 && all(lowBits(word >>> 8), len - 1);
+	}
+
+	static long low(long word) {
+		return word | upBits(word) >>> 2;
+	}
+
+	static long up(long word) {
+		return word ^ lowBits(word) >>> 2;
+	}
+
+	static long tit(long word) {
+		long low = low(word);
+		return low ^ (lowBits(low) & 0x80) >>> 2;
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagCatalogTest {
+
+	private static LangTagCatalog<String> catalog() {
+		Map<String, String> map = new HashMap<>();
+		map.put("month", "January");
+		map.put("month#de", "Januar");
+		map.put("month#de-AT", "Jaenner");
+		map.put("month#sr-Latn", "januar");
+		map.put("month#sr-Cyrl", "\u0458\u0430\u043d\u0443\u0430\u0440");
+		map.put("month#invalid-tag-", "skipped");
+		map.put("day#fr", "lundi");
+		return LangTagCatalog.of(map);
+	}
+
+	@Test
+	public void testLookup() {
+		LangTagCatalog<String> catalog = catalog();
+
+		assertEquals("Jaenner", catalog.lookup("month", LangTag.parse("de-AT-1996")));
+		assertEquals("Januar", catalog.lookup("month", LangTag.parse("de-CH")));
+		assertEquals("januar", catalog.lookup("month", LangTag.parse("sr-Latn-RS")));
+		assertEquals("\u0458\u0430\u043d\u0443\u0430\u0440", catalog.lookup("month", LangTag.parse("sr-Cyrl")));
+		assertEquals("January", catalog.lookup("month", LangTag.parse("sr-RS")));
+		assertEquals("January", catalog.lookup("month", LangTag.parse("fr")));
+		assertEquals("January", catalog.lookup("month", null));
+		assertNull(catalog.lookup("day", LangTag.parse("de")));
+		assertEquals("lundi", catalog.lookup("day", LangTag.parse("fr-CA")));
+		assertNull(catalog.lookup("year", LangTag.parse("de")));
+	}
+
+	@Test
+	public void testGet() {
+		LangTagCatalog<String> catalog = catalog();
+
+		assertEquals("Januar", catalog.get("month", LangTag.parse("de")));
+		assertEquals("January", catalog.get("month", null));
+		assertNull(catalog.get("month", LangTag.parse("de-CH")));
+		assertNull(catalog.get("day", null));
+		assertEquals(6, catalog.size());
+	}
+
+}
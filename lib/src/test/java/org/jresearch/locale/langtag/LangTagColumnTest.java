@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagColumnTest {
+
+	private static final String[] TAGS = { "de", "en-US", "de-AT", "zh-Hans-CN", "de-CH-1901", "es-419", "sl-rozaj", "de-CH-1901", "en-x-private", "sr-Latn-RS" };
+
+	@Test
+	public void testPacked() {
+		for (String text : new String[] { "de", "en-US", "zh-Hans-CN", "es-419", "yue-HK", "en-001", "zz-ZZ" }) {
+			LangTag tag = LangTag.parse(text);
+			assertEquals(tag, PackedLangTag.unpack(PackedLangTag.pack(tag)));
+		}
+		assertEquals(PackedLangTag.NONE, PackedLangTag.pack(LangTag.parse("de-CH-1901")));
+		assertEquals(PackedLangTag.NONE, PackedLangTag.pack(LangTag.parse("zh-cmn")));
+		assertEquals(PackedLangTag.NONE, PackedLangTag.pack(LangTag.parse("en-x-private")));
+	}
+
+	@Test
+	public void testAppendGetScan() throws IOException {
+		Path dir = Files.createTempDirectory("column");
+		Path file = dir.resolve("tags");
+		try {
+			try (LangTagColumn column = LangTagColumn.open(file)) {
+				for (String tag : TAGS) {
+					column.append(LangTag.parse(tag));
+				}
+				assertEquals(TAGS.length, column.size());
+				assertEquals(LangTag.parse("de-AT"), column.get(2));
+				assertEquals(Arrays.asList(0L, 2L, 4L, 7L), primaryLanguage(column, "DE"));
+			}
+			try (LangTagColumn column = LangTagColumn.open(file)) {
+				assertEquals(TAGS.length, column.size());
+				for (int i = 0; i < TAGS.length; i++) {
+					assertEquals(LangTag.parse(TAGS[i]), column.get(i));
+				}
+				column.append(LangTag.parse("de-CH"));
+				assertEquals(Arrays.asList(4L, 7L, 10L), region(column, "ch"));
+				assertEquals(Arrays.asList(0L, 6L, 8L), region(column, ""));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(dir.resolve("tags.dict"));
+			Files.delete(dir);
+		}
+	}
+
+	@Test
+	public void testInvalidDictionary() throws IOException {
+		Path dir = Files.createTempDirectory("column");
+		Path file = dir.resolve("tags");
+		Path dictionary = dir.resolve("tags.dict");
+		try {
+			Files.write(dictionary, Arrays.asList("de-CH-1901", "de-x"), StandardCharsets.US_ASCII);
+			try (LangTagColumn column = LangTagColumn.open(file)) {
+				fail("Expected IOException");
+			} catch (IOException e) {
+				assertTrue(e.getMessage(), e.getMessage().endsWith("line 2"));
+				assertTrue(e.getCause() instanceof IllegalArgumentException);
+			}
+			assertFalse(Files.exists(file));
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(dictionary);
+			Files.delete(dir);
+		}
+	}
+
+	@Test
+	public void testReopenPrivateUseOnly() throws IOException {
+		Path dir = Files.createTempDirectory("column");
+		Path file = dir.resolve("tags");
+		LangTag privateUse = ImmutableLangTag.builder().privateUse("x-foo").build();
+		try {
+			try (LangTagColumn column = LangTagColumn.open(file)) {
+				column.append(privateUse);
+				column.append(LangTag.parse("en-x-foo"));
+			}
+			try (LangTagColumn column = LangTagColumn.open(file)) {
+				assertEquals(privateUse, column.get(0));
+				assertEquals(LangTag.parse("en-x-foo"), column.get(1));
+			}
+		} finally {
+			Files.deleteIfExists(file);
+			Files.deleteIfExists(dir.resolve("tags.dict"));
+			Files.delete(dir);
+		}
+	}
+
+	private static List<Long> primaryLanguage(LangTagColumn column, String language) throws IOException {
+		List<Long> rows = new ArrayList<>();
+		column.scanPrimaryLanguage(language, rows::add);
+		return rows;
+	}
+
+	private static List<Long> region(LangTagColumn column, String region) throws IOException {
+		List<Long> rows = new ArrayList<>();
+		column.scanRegion(region, rows::add);
+		return rows;
+	}
+
+}
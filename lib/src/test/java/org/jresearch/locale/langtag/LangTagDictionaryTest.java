@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagDictionaryTest {
+
+	private static final String[] TAGS = { "de", "en-US", "zh-Hans-CN", "de-CH-1901", "es-419", "ja-JP-u-ca-japanese", "en-x-private" };
+
+	@Test
+	public void testIds() {
+		LangTagDictionary dictionary = new LangTagDictionary();
+		for (int i = 0; i < TAGS.length; i++) {
+			assertEquals(i, dictionary.id(LangTag.parse(TAGS[i])));
+		}
+		assertEquals(1, dictionary.id(LangTag.parse("EN-us")));
+		assertEquals(TAGS.length, dictionary.size());
+		assertEquals(LangTag.parse("es-419"), dictionary.tag(4));
+		assertEquals(LangTagDictionary.NOT_FOUND, dictionary.find(LangTag.parse("fr")));
+	}
+
+	@Test
+	public void testGrow() {
+		LangTagDictionary dictionary = new LangTagDictionary();
+		for (char a = 'a'; a <= 'z'; a++) {
+			for (char b = 'a'; b <= 'z'; b++) {
+				dictionary.id(LangTag.fromLang(new String(new char[] { a, b })));
+			}
+		}
+		assertEquals(26 * 26, dictionary.size());
+		assertEquals(LangTag.parse("zz"), dictionary.tag(26 * 26 - 1));
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void testUnknownId() {
+		new LangTagDictionary().tag(0);
+	}
+
+	@Test
+	public void testSnapshot() throws IOException {
+		LangTagDictionary dictionary = new LangTagDictionary();
+		for (String tag : TAGS) {
+			dictionary.id(LangTag.parse(tag));
+		}
+		Path file = Files.createTempFile("dictionary", ".bin");
+		try {
+			dictionary.snapshot(file);
+			LangTagDictionary restored = LangTagDictionary.restore(file);
+
+			assertEquals(TAGS.length, restored.size());
+			for (int i = 0; i < TAGS.length; i++) {
+				assertEquals(LangTag.parse(TAGS[i]), restored.tag(i));
+				assertEquals(i, restored.find(LangTag.parse(TAGS[i])));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void testSnapshotPrivateUseOnly() throws IOException {
+		LangTag privateUse = ImmutableLangTag.builder().privateUse("x-foo").build();
+		LangTagDictionary dictionary = new LangTagDictionary();
+		dictionary.id(privateUse);
+		Path file = Files.createTempFile("dictionary", ".bin");
+		try {
+			dictionary.snapshot(file);
+			assertEquals(privateUse, LangTagDictionary.restore(file).tag(0));
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testSnapshotTooLong() throws IOException {
+		StringBuilder privateUse = new StringBuilder("x");
+		while (privateUse.length() <= 0xFFFF) {
+			privateUse.append("-abcdefgh");
+		}
+		LangTagDictionary dictionary = new LangTagDictionary();
+		dictionary.id(ImmutableLangTag.builder().primaryLanguage("en").privateUse(privateUse.toString()).build());
+		Path file = Files.createTempFile("dictionary", ".bin");
+		try {
+			dictionary.snapshot(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testRestoreUnknownKind() throws IOException {
+		restore(out -> {
+			out.writeInt(1);
+			out.writeByte(7);
+			out.writeLong(5 | 14 << 5);
+		});
+	}
+
+	@Test(expected = IOException.class)
+	public void testRestoreForgedCode() throws IOException {
+		restore(out -> {
+			out.writeInt(1);
+			out.writeByte(0);
+			out.writeLong(1);
+		});
+	}
+
+	@Test(expected = IOException.class)
+	public void testRestoreDuplicate() throws IOException {
+		restore(out -> {
+			out.writeInt(2);
+			out.writeByte(0);
+			out.writeLong(5 | 14 << 5);
+			out.writeByte(1);
+			out.writeShort(2);
+			out.writeBytes("en");
+		});
+	}
+
+	private interface Entries {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	/** Restores the dictionary file of the hand written entries */
+	private static LangTagDictionary restore(Entries entries) throws IOException {
+		Path file = Files.createTempFile("dictionary", ".bin");
+		try {
+			try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+				out.writeInt(0x4C544431);
+				entries.write(out);
+			}
+			return LangTagDictionary.restore(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Tests the extension views of the language tag.
+ */
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagExtensionTest {
+
+	@Test
+	public void testUnicodeKeywords() {
+		LangTag lt = LangTag.parse("th-TH-u-ca-buddhist-nu-thai");
+
+		assertEquals("buddhist", lt.unicodeKeyword("ca"));
+		assertEquals("thai", lt.unicodeKeyword("nu"));
+		assertEquals("thai", lt.unicodeKeyword("NU"));
+		assertNull(lt.unicodeKeyword("co"));
+		assertEquals(Arrays.asList("ca", "nu"), Arrays.asList(lt.unicodeExtension().keywords().keySet().toArray()));
+	}
+
+	@Test
+	public void testUnicodeAttributesAndMultipartType() {
+		LangTag lt = LangTag.parse("en-u-attr-ca-islamic-civil-hc-co-phonebk-x-foo");
+
+		UnicodeExtension ext = lt.unicodeExtension();
+		assertEquals(Arrays.asList("attr"), ext.attributes());
+		assertEquals("islamic-civil", ext.keyword("ca"));
+		assertEquals("", ext.keyword("hc"));
+		assertEquals("phonebk", ext.keyword("co"));
+	}
+
+	@Test
+	public void testUnicodeDuplicateKey() {
+		assertEquals("thai", LangTag.parse("th-u-nu-thai-nu-latn").unicodeKeyword("nu"));
+	}
+
+	@Test
+	public void testNoUnicodeExtension() {
+		LangTag lt = LangTag.parse("en-a-myext");
+
+		assertTrue(lt.unicodeExtension().isEmpty());
+		assertNull(lt.unicodeKeyword("ca"));
+	}
+
+	@Test
+	public void testTransformed() {
+		LangTag lt = LangTag.parse("und-Latn-t-ru-m0-ungegn-2007-u-nu-latn");
+
+		TransformedExtension ext = lt.transformedExtension();
+		assertEquals("ru", ext.source());
+		assertEquals("ungegn-2007", ext.field("m0"));
+		assertNull(ext.field("s0"));
+		assertEquals("latn", lt.unicodeKeyword("nu"));
+	}
+
+	@Test
+	public void testTransformedSourceOnly() {
+		TransformedExtension ext = LangTag.parse("ja-t-ja-Latn-JP").transformedExtension();
+
+		assertEquals("ja-latn-jp", ext.source());
+		assertTrue(ext.fields().isEmpty());
+	}
+
+	@Test
+	public void testTransformedFieldsOnly() {
+		TransformedExtension ext = LangTag.parse("de-t-d0-ascii").transformedExtension();
+
+		assertEquals("", ext.source());
+		assertEquals("ascii", ext.field("d0"));
+	}
+
+	@Test
+	public void testEmptyIsShared() {
+		assertSame(LangTag.parse("en").unicodeExtension(), LangTag.parse("de").unicodeExtension());
+	}
+
+}
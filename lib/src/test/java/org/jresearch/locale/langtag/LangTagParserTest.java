@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.nio.CharBuffer;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagParserTest {
+
+	private static final String[] VALID = { "en", "EN-us", "zh-cmn-Hans-CN", "sr-Latn-RS", "de-CH-1901", "sl-rozaj-biske", "es-419",
+			"ja-JP-u-ca-japanese-t-en", "en-US-u-islamcal-x-private-use", "en-a-bbb-x-a-ccc", "qaa-Qaaa-QM-x-southern" };
+
+	private static final String[] INVALID = { "e", "en-", "en--US", "en-US-u", "en-u-a", "en-x", "en-x-toolongvalue", "en-US-GB", "1a" };
+
+	@Test
+	public void testSameAsParse() {
+		LangTagParser parser = new LangTagParser();
+		for (String text : VALID) {
+			assertEquals(text, LangTag.parse(text), parser.parse(text));
+			assertEquals(text, LangTag.parse(text).toString(), parser.parse(text).toString());
+		}
+	}
+
+	@Test
+	public void testInvalid() {
+		LangTagParser parser = new LangTagParser();
+		for (String text : INVALID) {
+			try {
+				parser.parse(text);
+				fail(text);
+			} catch (IllegalArgumentException e) {
+				// expected, the scratch buffers are reset anyway
+			}
+			assertEquals(LangTag.parse("en-US-1901"), parser.parse("en-US-1901"));
+		}
+	}
+
+	@Test
+	public void testEmpty() {
+		LangTagParser parser = new LangTagParser();
+		assertNull(parser.parse(null));
+		assertNull(parser.parse(" "));
+	}
+
+	@Test
+	public void testManySubtags() {
+		String text = "en-a-aa-bb-cc-dd-ee-ff-gg-hh-ii-jj-x-1-2-3-4-5-6-7-8";
+		assertEquals(LangTag.parse(text), new LangTagParser().parse(text));
+	}
+
+	@Test
+	public void testCharSequence() {
+		assertEquals(LangTag.parse("de-DE"), new LangTagParser().parse(CharBuffer.wrap("de-de")));
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serializable;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagSerializationTest {
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		for (String text : new String[] { "de", "zh-Hans-CN", "es-419", "de-CH-1901", "ja-JP-u-ca-japanese-x-abc" }) {
+			LangTag tag = LangTag.parse(text);
+			assertEquals(tag, read(write(tag)));
+		}
+	}
+
+	@Test
+	public void testInterned() throws Exception {
+		LangTag first = (LangTag) read(write(LangTag.parse("en-US")));
+		LangTag second = (LangTag) read(write(LangTag.parse("en-US")));
+
+		assertSame(first, second);
+	}
+
+	@Test
+	public void testCompact() throws Exception {
+		int simple = write(LangTag.parse("zh-Hans-CN")).length;
+		int complex = write(LangTag.parse("de-CH-1901")).length;
+
+		// stream header and class descriptor + 9 or 15 bytes of data
+		assertTrue("Simple tag size " + simple, simple < 100);
+		assertEquals(6, complex - simple);
+	}
+
+	@Test
+	public void testPrivateUseOnly() throws Exception {
+		LangTag tag = ImmutableLangTag.builder().privateUse("x-foo").build();
+
+		assertEquals(tag, read(write(tag)));
+	}
+
+	@Test(expected = InvalidObjectException.class)
+	public void testUnknownForm() throws Exception {
+		byte[] bytes = write(LangTag.parse("en-US"));
+		// block data of 9 bytes: the form byte and the packed code
+		int block = lastIndexOf(bytes, new byte[] { 0x77, 9 });
+		bytes[block + 2] = 7;
+		read(bytes);
+	}
+
+	@Test
+	public void testForgedCode() throws Exception {
+		long en = 5 | 14 << 5;
+		long[] codes = { 0, 1, 5 | 0 << 5 | 14 << 10, en | 27 << 10, en | 1L << 46, en | 1L << 63, en | 2000L << 35, en | (1 | 2 << 5 | 3 << 10) << 15 };
+		byte[] bytes = write(LangTag.parse("en-US"));
+		int block = lastIndexOf(bytes, new byte[] { 0x77, 9 });
+		for (long code : codes) {
+			for (int i = 0; i < Long.BYTES; i++) {
+				bytes[block + 3 + i] = (byte) (code >>> (Long.BYTES - 1 - i) * Byte.SIZE);
+			}
+			try {
+				read(bytes);
+				fail(Long.toHexString(code));
+			} catch (InvalidObjectException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test(expected = InvalidObjectException.class)
+	public void testDirectStream() throws Exception {
+		byte[] bytes = write(new FakeImmutableLangTag());
+		bytes = rename(bytes, FakeLangTag.class, LangTag.class);
+		bytes = rename(bytes, FakeImmutableLangTag.class, ImmutableLangTag.class);
+		read(bytes);
+	}
+
+	/** The tag hierarchy with the fields written directly, bypassing the proxy */
+	private static class FakeLangTag implements Serializable {
+		private static final long serialVersionUID = 1L;
+	}
+
+	private static final class FakeImmutableLangTag extends FakeLangTag {
+		private static final long serialVersionUID = 1L;
+		@SuppressWarnings("unused")
+		private final String primaryLanguage = "NOT A LANGUAGE";
+	}
+
+	/** Replaces the class name and serial version UID in the class descriptor */
+	private static byte[] rename(byte[] bytes, Class<?> from, Class<?> to) throws IOException {
+		byte[] name = utf(from.getName());
+		int pos = lastIndexOf(bytes, name);
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		result.write(bytes, 0, pos);
+		DataOutputStream out = new DataOutputStream(result);
+		out.writeUTF(to.getName());
+		out.writeLong(ObjectStreamClass.lookup(to).getSerialVersionUID());
+		int rest = pos + name.length + Long.BYTES;
+		result.write(bytes, rest, bytes.length - rest);
+		return result.toByteArray();
+	}
+
+	private static byte[] utf(String value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		new DataOutputStream(bytes).writeUTF(value);
+		return bytes.toByteArray();
+	}
+
+	private static int lastIndexOf(byte[] bytes, byte[] part) {
+		for (int i = bytes.length - part.length; i >= 0; i--) {
+			int j = 0;
+			while (j < part.length && bytes[i + j] == part[j]) {
+				j++;
+			}
+			if (j == part.length) {
+				return i;
+			}
+		}
+		throw new AssertionError("Not found");
+	}
+
+	private static byte[] write(Object value) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object read(byte[] bytes) throws IOException, ClassNotFoundException {
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return in.readObject();
+		}
+	}
+
+}
@@ -22,10 +22,15 @@
 package org.jresearch.locale.langtag;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.jresearch.locale.langtag.LangTag;
 import org.junit.Test;
 
@@ -111,6 +116,15 @@ public class LangTagTest {
 		assertEquals("sr-Cyrl", lt.toString());
 	}
 
+	@Test
+	public void testScriptCanonicalFormat() {
+
+		LangTag lt = ImmutableLangTag.builder().primaryLanguage("sr").script("cyrl").build();
+
+		assertEquals("Cyrl", lt.script());
+		assertEquals("sr-Cyrl", lt.toString());
+	}
+
 	@Test(expected = NullPointerException.class)
 	public void testScriptNull() {
 		ImmutableLangTag.builder().primaryLanguage("sr").script((String) null).build();
@@ -385,6 +399,59 @@ public class LangTagTest {
 		assertNull(LangTag.parse(null));
 	}
 
+	@Test
+	public void testParseCanonicalFormat() {
+		LangTag lt = LangTag.parse("ZH-hant-tw-U-CA-Chinese-X-Foo");
+
+		assertEquals("zh", lt.primaryLanguage());
+		assertEquals("Hant", lt.script());
+		assertEquals("TW", lt.region());
+		assertEquals("u-ca-chinese", lt.extensions().get(0));
+		assertEquals("x-foo", lt.privateUse());
+		assertEquals("zh-Hant-TW-u-ca-chinese-x-foo", lt.toString());
+		assertEquals(ImmutableLangTag.builder().primaryLanguage("zh").script("Hant").region("TW").addExtensions("u-ca-chinese").privateUse("x-foo").build(), lt);
+	}
+
+	@Test
+	public void testParseLongExtensions() {
+		LangTag lt = LangTag.parse("en-u-ca-buddhist-nu-thai-co-phonebk-t-de-m0-ungegn-x-a-bc");
+
+		assertEquals(2, lt.extensions().size());
+		assertEquals("u-ca-buddhist-nu-thai-co-phonebk", lt.extensions().get(0));
+		assertEquals("t-de-m0-ungegn", lt.extensions().get(1));
+		assertEquals("x-a-bc", lt.privateUse());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseEmptyLastSubtag() {
+		LangTag.parse("en-");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseEmptySubtag() {
+		LangTag.parse("en--US");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testParseExtensionWithoutSubtags() {
+		LangTag.parse("en-a-x-foo");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExtensionWithoutSubtags() {
+		ImmutableLangTag.builder().primaryLanguage("en").addExtensions("a").build();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testExtensionWithoutSingleton() {
+		ImmutableLangTag.builder().primaryLanguage("en").addExtensions("cal").build();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testPrivateUseWithoutSingleton() {
+		ImmutableLangTag.builder().primaryLanguage("en").privateUse("private").build();
+	}
+
 	@Test
 	public void testParse15() {
 		LangTag lt = LangTag.parse("ja-JP-u-ca-japanese");
@@ -415,4 +482,129 @@ public class LangTagTest {
 		assertEquals("u-nu-thai", lt.extensions().get(0));
 	}
 
+	@Test
+	public void testParseReusesNoParts() {
+		LangTag first = LangTag.parse("sl-rozaj-biske-u-ca-buddhist");
+		LangTag second = LangTag.parse("de-1901-u-nu-latn");
+
+		assertEquals(Arrays.asList("rozaj", "biske"), first.variants());
+		assertEquals(Arrays.asList("u-ca-buddhist"), first.extensions());
+		assertEquals(Arrays.asList("1901"), second.variants());
+		assertEquals("sl-rozaj-biske-u-ca-buddhist", first.toString());
+	}
+
+	@Test
+	public void testTrusted() {
+		LangTag lt = LangTag.trusted("zh", Arrays.asList("cmn"), "Hans", "CN", Collections.emptyList(), Arrays.asList("u-nu-hanidec"), "x-abc");
+
+		assertEquals(LangTag.parse("zh-cmn-Hans-CN-u-nu-hanidec-x-abc"), lt);
+		assertEquals("zh-cmn-Hans-CN-u-nu-hanidec-x-abc", lt.toString());
+		assertEquals(LangTag.parse("de-Latn-AT"), LangTag.trusted("de", "Latn", "AT"));
+	}
+
+	@Test
+	public void testTrustedSkipsChecksOnlyInside() {
+		// no normalization inside the trusted factory
+		assertEquals("EN", LangTag.trusted("EN", "", "").primaryLanguage());
+		assertFalse(Validation.skipped());
+		// the regular factory checks again
+		assertEquals("en", ImmutableLangTag.of("EN", Collections.emptyList(), "", "", Collections.emptyList(), Collections.emptyList(), "").primaryLanguage());
+	}
+
+	@Test
+	public void testWith() {
+		ImmutableLangTag lt = LangTag.parse("de-CH-1901-u-co-phonebk");
+		ImmutableLangTag derived = lt.withRegion("at");
+
+		assertEquals(LangTag.parse("de-AT-1901-u-co-phonebk"), derived);
+		assertSame(lt.variants(), derived.variants());
+		assertSame(lt.extensions(), derived.extensions());
+		assertSame(lt, lt.withRegion("CH"));
+		assertEquals(LangTag.parse("de-Latn-CH"), lt.withVariants().withExtensions().withScript("LATN"));
+		assertEquals(LangTag.parse("de-CH-1996-x-old"), lt.withVariants("1996").withExtensions(Collections.emptyList()).withPrivateUse("X-OLD"));
+		assertEquals(LangTag.parse("zh-yue-CH-1901-u-co-phonebk"), lt.withPrimaryLanguage("ZH").withLanguageSubtags("Yue"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithInvalid() {
+		LangTag.parse("de-CH").withRegion("CHE");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWithoutPrimaryLanguage() {
+		LangTag.parse("de-CH").withPrimaryLanguage("");
+	}
+
+	@Test
+	public void testToString() {
+		for (String text : new String[] { "zh-cmn-Hans-CN", "de-CH-1901-u-co-phonebk", "en-a-bbb-x-a-ccc", "sl-rozaj-biske-1994", "es-419" }) {
+			assertEquals(text, LangTag.parse(text).toString());
+		}
+		LangTag en = LangTag.parse("en");
+		assertSame(en.primaryLanguage(), en.toString());
+		LangTag privateUse = ImmutableLangTag.builder().privateUse("x-foo").build();
+		assertSame(privateUse.privateUse(), privateUse.toString());
+	}
+
+	@Test
+	public void testTruncationChain() {
+		LangTag lt = Interner.intern(LangTag.parse("zh-Hant-TW-x-foo"));
+
+		assertEquals(LangTagUtils.parseLangTagList("zh-Hant-TW-x-foo", "zh-Hant-TW", "zh-Hant", "zh"), lt.truncationChain());
+		assertSame(lt.truncationChain(), lt.truncationChain());
+		assertSame(lt, lt.truncationChain().get(0));
+		LangTag equal = LangTag.parse("zh-Hant-TW-x-foo");
+		assertEquals(lt.truncationChain(), equal.truncationChain());
+		assertSame(equal, equal.truncationChain().get(0));
+		assertSame(lt.parent(), equal.parent());
+		assertEquals(LangTag.parse("zh-Hant-TW"), lt.parent());
+		assertSame(lt.parent(), lt.parent());
+		assertSame(lt.parent().parent(), LangTag.parse("zh-Hant-CN").parent());
+		assertEquals(LangTagUtils.parseLangTagList("sl-rozaj-biske", "sl-rozaj", "sl"), LangTag.parse("sl-rozaj-biske").truncationChain());
+		assertNull(LangTag.parse("zh").parent());
+	}
+
+	@Test
+	public void testInternerEvictsLeastRecentlyUsed() {
+		LangTag kept = Interner.intern(LangTag.parse("zh-Hant-TW"));
+		for (int i = 0; i < Interner.MAX_SIZE + 100; i++) {
+			Interner.intern(ImmutableLangTag.of("en", Collections.<String> emptyList(), "", "", Collections.<String> emptyList(), Collections.<String> emptyList(), "x-" + i));
+			assertSame(kept, Interner.intern(LangTag.parse("zh-Hant-TW")));
+		}
+		assertEquals(Interner.MAX_SIZE, Interner.size());
+		assertSame(kept, LangTag.parse("zh-Hant-TW-x-foo").parent());
+	}
+
+	@Test
+	public void testScan() {
+		StringBuilder events = new StringBuilder();
+		assertTrue(LangTag.scan("zh-cmn-Hans-CN-1901-u-nu-hans-x-abc", (type, s, from, to) -> {
+			events.append(type).append('=').append(s, from, to).append(' ');
+			return true;
+		}));
+
+		assertEquals("LANGUAGE=zh EXTLANG=cmn SCRIPT=Hans REGION=CN VARIANT=1901 EXTENSION_SINGLETON=u EXTENSION=nu EXTENSION=hans PRIVATE_USE_SINGLETON=x PRIVATE_USE=abc ",
+				events.toString());
+	}
+
+	@Test
+	public void testScanStop() {
+		StringBuilder region = new StringBuilder();
+		// the invalid tail is not validated after the stop
+		assertFalse(LangTag.scan("de-CH-!", (type, s, from, to) -> {
+			if (type == SubtagType.REGION) {
+				region.append(s, from, to);
+				return false;
+			}
+			return true;
+		}));
+
+		assertEquals("CH", region.toString());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testScanInvalid() {
+		LangTag.scan("en-u", (type, s, from, to) -> true);
+	}
+
 }
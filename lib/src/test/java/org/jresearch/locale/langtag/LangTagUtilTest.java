@@ -21,13 +21,16 @@
 
 package org.jresearch.locale.langtag;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -88,6 +91,30 @@ public class LangTagUtilTest {
 		assertEquals(2, out.size());
 	}
 
+	@Test
+	public void testStripInto() {
+
+		List<String> out = new ArrayList<>();
+		out.add("old");
+		out.clear();
+
+		assertSame(out, LangTagUtils.strip(Arrays.asList("name", "name#en-US"), out));
+		assertEquals(Arrays.asList("name", "name"), out);
+	}
+
+	@Test
+	public void testStripIfTagged() {
+
+		List<String> untagged = Arrays.asList("name", "other");
+		Set<String> untaggedSet = new HashSet<>(untagged);
+
+		assertSame(untagged, LangTagUtils.stripIfTagged(untagged));
+		assertSame(untaggedSet, LangTagUtils.stripIfTagged(untaggedSet));
+		assertEquals(Arrays.asList("name", "other"), LangTagUtils.stripIfTagged(Arrays.asList("name#de", "other")));
+		assertEquals(Collections.singleton("name"), LangTagUtils.stripIfTagged(new HashSet<>(Arrays.asList("name#de", "name"))));
+		assertNull(LangTagUtils.stripIfTagged((List<String>) null));
+	}
+
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Test
 	public void testStripWithNullArg() {
@@ -186,6 +213,29 @@ public class LangTagUtilTest {
 		assertEquals(2, out.size());
 	}
 
+	@Test
+	public void testToStringListInto() {
+
+		List<LangTag> tags = Arrays.asList(LangTag.parse("en-US"), LangTag.parse("de"));
+		List<String> out = new ArrayList<>();
+
+		assertSame(out, LangTagUtils.toStringList(tags, out));
+		assertEquals(Arrays.asList("en-US", "de"), out);
+		// the primary language only tag returns its part as is
+		assertSame(tags.get(1).toString(), out.get(1));
+	}
+
+	@Test
+	public void testToStringArrayInto() {
+
+		List<LangTag> tags = Arrays.asList(LangTag.parse("en-US"), LangTag.parse("de"));
+		String[] out = { "a", "b", "c" };
+
+		assertSame(out, LangTagUtils.toStringArray(tags, out));
+		assertArrayEquals(new String[] { "en-US", "de", null }, out);
+		assertArrayEquals(new String[] { "en-US", "de" }, LangTagUtils.toStringArray(tags, new String[0]));
+	}
+
 	@Test
 	public void testToStringListNull() {
 
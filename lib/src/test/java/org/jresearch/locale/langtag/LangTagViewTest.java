@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Tests the reusable language tag view.
+ */
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagViewTest {
+
+	@Test
+	public void testAccessors() {
+		LangTagView view = new LangTagView().reset("zh-cmn-Hans-CN-1901-u-nu-hans-x-private");
+
+		assertEquals("zh", view.primaryLanguage().toString());
+		assertEquals(1, view.languageSubtags().size());
+		assertEquals("cmn", view.languageSubtags().get(0).toString());
+		assertEquals("zh-cmn", view.language().toString());
+		assertEquals("Hans", view.script().toString());
+		assertEquals("CN", view.region().toString());
+		assertEquals("1901", view.variants().get(0).toString());
+		assertEquals("u-nu-hans", view.extensions().get(0).toString());
+		assertEquals("x-private", view.privateUse().toString());
+	}
+
+	@Test
+	public void testReuse() {
+		LangTagView view = new LangTagView();
+		CharSequence region = view.reset("en-US").region();
+
+		view.reset("de");
+		assertSame(region, view.region());
+		assertEquals(0, region.length());
+		assertTrue(view.variants().isEmpty());
+		assertEquals("de", view.toString());
+	}
+
+	@Test
+	public void testRange() {
+		String line = "id=42;tag=sr-Latn-RS;";
+		LangTagView view = new LangTagView().reset(line, 10, 20);
+
+		assertEquals("sr", view.primaryLanguage().toString());
+		assertEquals("Latn", view.script().toString());
+		assertEquals("RS", view.region().toString());
+	}
+
+	@Test
+	public void testBytes() {
+		byte[] buf = "en;DE-at".getBytes(StandardCharsets.US_ASCII);
+		LangTagView view = new LangTagView().reset(buf, 3, 5);
+
+		assertEquals("DE", view.primaryLanguage().toString());
+		assertEquals("at", view.region().toString());
+		assertEquals(LangTag.parse("de-AT"), view.toLangTag());
+	}
+
+	@Test
+	public void testToLangTag() {
+		String tag = "ZH-hant-tw-U-CA-Chinese-X-Foo";
+
+		assertEquals(LangTag.parse(tag), new LangTagView().reset(tag).toLangTag());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalid() {
+		new LangTagView().reset("en-US-");
+	}
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LanguagePriorityListTest {
+
+	@Test
+	public void testParse() {
+		LanguagePriorityList list = LanguagePriorityList.parse("en;q=0.8, de-CH, *;q=0.5, fr;q=0, de;q=0.9, bad-tag-;q=1");
+
+		assertEquals(LangTagUtils.parseLangTagList("de-CH", "de", "en"), list.ranges());
+		assertEquals(0.9, list.weight(1), 0);
+		assertEquals("de-CH,de;q=0.9,en;q=0.8", list.toString());
+	}
+
+	@Test
+	public void testTruncationChain() {
+		assertEquals(LangTagUtils.parseLangTagList("zh-Hant-CN-x-private1-private2", "zh-Hant-CN-x-private1", "zh-Hant-CN", "zh-Hant", "zh"),
+				LangTag.parse("zh-Hant-CN-x-private1-private2").truncationChain());
+		assertEquals(LangTagUtils.parseLangTagList("en-u-ca-japanese", "en-u-ca", "en"),
+				LanguagePriorityList.parse("en-u-ca-japanese").truncationChain(0));
+	}
+
+	@Test
+	public void testLookup() {
+		Set<LangTag> supported = new HashSet<>(LangTagUtils.parseLangTagList("en", "de", "fr-CA"));
+
+		assertEquals(LangTag.parse("de"), LanguagePriorityList.parse("de-CH, en;q=0.5").lookup(supported));
+		assertEquals(LangTag.parse("en"), LanguagePriorityList.parse("fr, en-GB;q=0.5").lookup(supported));
+		assertEquals(LangTag.parse("fr-CA"), LanguagePriorityList.of(LangTagUtils.parseLangTagList("fr-CA-x-abc")).lookup(supported));
+		assertNull(LanguagePriorityList.parse("ja, *").lookup(supported));
+	}
+
+	@Test
+	public void testEquals() {
+		LanguagePriorityList list = LanguagePriorityList.parse("de-CH, de;q=0.9");
+
+		assertEquals(list, LanguagePriorityList.parse("DE;q=0.90 , de-ch"));
+		assertEquals(list.hashCode(), LanguagePriorityList.parse("de;q=0.9,de-CH").hashCode());
+		assertEquals(new HashSet<>(Arrays.asList(list)).size(), 1);
+	}
+
+}
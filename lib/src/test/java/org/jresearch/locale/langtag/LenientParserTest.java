@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.EnumSet;
+
+import org.jresearch.locale.langtag.LenientParser.Repair;
+import org.jresearch.locale.langtag.LenientParser.Result;
+import org.jresearch.locale.langtag.metrics.Failure;
+import org.jresearch.locale.langtag.metrics.Metrics;
+import org.jresearch.locale.langtag.metrics.StripedMetrics;
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LenientParserTest {
+
+	@Test
+	public void testValid() {
+		Result result = LenientParser.ALL.parse("en-us");
+
+		assertEquals(LangTag.parse("en-US"), result.tag());
+		assertFalse(result.repaired());
+	}
+
+	@Test
+	public void testPosix() {
+		Result result = LenientParser.ALL.parse(" pt_br.UTF-8 ");
+
+		assertEquals(LangTag.parse("pt-BR"), result.tag());
+		assertEquals(EnumSet.of(Repair.WHITESPACE, Repair.UNDERSCORE, Repair.CHARSET), result.repairs());
+	}
+
+	@Test
+	public void testModifier() {
+		assertEquals(EnumSet.of(Repair.UNDERSCORE, Repair.MODIFIER), LenientParser.ALL.parse("de_DE@euro").repairs());
+		assertEquals(EnumSet.of(Repair.UNDERSCORE, Repair.CHARSET, Repair.MODIFIER), LenientParser.ALL.parse("de_DE.ISO-8859-15@euro").repairs());
+	}
+
+	@Test
+	public void testParameters() {
+		Result result = LenientParser.ALL.parse("de-DE ;q=0.8");
+
+		assertEquals(LangTag.parse("de-DE"), result.tag());
+		assertEquals(EnumSet.of(Repair.WHITESPACE, Repair.PARAMETERS), result.repairs());
+	}
+
+	@Test
+	public void testAllSuffixes() {
+		Result result = LenientParser.ALL.parse("de-DE.utf8;q=0.5");
+
+		assertEquals(LangTag.parse("de-DE"), result.tag());
+		assertEquals(EnumSet.of(Repair.CHARSET, Repair.PARAMETERS), result.repairs());
+		// the dot of the parameter value is not a charset
+		assertEquals(EnumSet.of(Repair.PARAMETERS), LenientParser.ALL.parse("de-DE;q=0.5").repairs());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testModifierNotAllowed() {
+		new LenientParser(EnumSet.of(Repair.UNDERSCORE, Repair.CHARSET)).parse("de_DE.UTF-8@euro");
+	}
+
+	@Test
+	public void testEmpty() {
+		assertNull(LenientParser.ALL.parse(null));
+		assertNull(LenientParser.ALL.parse(" .UTF-8"));
+	}
+
+	@Test
+	public void testBlank() {
+		assertNull(LenientParser.ALL.parse("   "));
+		assertNull(new LenientParser(EnumSet.noneOf(Repair.class)).parse("   "));
+		assertNull(new LenientParser(EnumSet.of(Repair.CHARSET)).parse(" .UTF-8"));
+		assertNull(new LenientParser(EnumSet.noneOf(Repair.class)).parse(""));
+	}
+
+	@Test
+	public void testUnderscoreAfterWhitespace() {
+		Result result = LenientParser.ALL.parse("  zh_Hant_TW  @modifier");
+
+		assertEquals(LangTag.parse("zh-Hant-TW"), result.tag());
+		assertEquals(EnumSet.of(Repair.WHITESPACE, Repair.UNDERSCORE, Repair.MODIFIER), result.repairs());
+	}
+
+	@Test
+	public void testNotAllowedCounted() {
+		StripedMetrics metrics = new StripedMetrics();
+		Metrics.install(metrics);
+		try {
+			new LenientParser(EnumSet.of(Repair.CHARSET)).parse("de-DE;q=0.8");
+			fail("Expected IllegalArgumentException");
+		} catch (IllegalArgumentException e) {
+			assertEquals(1, metrics.failures(Failure.TRAILING));
+		} finally {
+			Metrics.uninstall();
+		}
+	}
+
+	@Test
+	public void testAllowed() {
+		assertEquals(LangTag.parse("en-GB"), new LenientParser(EnumSet.of(Repair.UNDERSCORE)).parse("en_GB").tag());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotAllowed() {
+		new LenientParser(EnumSet.of(Repair.UNDERSCORE)).parse("en_GB.UTF-8");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNothingAllowed() {
+		new LenientParser(EnumSet.noneOf(Repair.class)).parse("en_GB");
+	}
+
+}
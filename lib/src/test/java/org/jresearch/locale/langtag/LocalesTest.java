@@ -0,0 +1,75 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the conversion between the language tags and the Java locales.
+ */
+@SuppressWarnings({ "static-method", "nls" })
+public class LocalesTest {
+
+	@Before
+	public void clearCaches() {
+		Locales.clear();
+	}
+
+	@Test
+	public void testToLocale() {
+		Locale locale = LangTag.parse("sr-Latn-RS").toLocale();
+
+		assertEquals("sr", locale.getLanguage());
+		assertEquals("Latn", locale.getScript());
+		assertEquals("RS", locale.getCountry());
+	}
+
+	@Test
+	public void testToLocaleExtension() {
+		Locale locale = LangTag.parse("th-TH-u-nu-thai").toLocale();
+
+		assertEquals("thai", locale.getUnicodeLocaleType("nu"));
+	}
+
+	@Test
+	public void testToLocaleCached() {
+		assertSame(LangTag.parse("de-CH-1901").toLocale(), LangTag.parse("DE-ch-1901").toLocale());
+	}
+
+	@Test
+	public void testFromLocale() {
+		LangTag tag = LangTag.fromLocale(Locale.forLanguageTag("zh-Hant-TW"));
+
+		assertEquals(LangTag.parse("zh-Hant-TW"), tag);
+		assertSame(tag, LangTag.fromLocale(new Locale.Builder().setLanguageTag("zh-Hant-TW").build()));
+	}
+
+	@Test
+	public void testRoundTrip() {
+		LangTag tag = LangTag.parse("en-GB");
+		Locale locale = tag.toLocale();
+
+		assertSame(tag, LangTag.fromLocale(locale));
+		assertSame(locale, LangTag.fromLocale(locale).toLocale());
+	}
+
+	@Test
+	public void testFromLocaleIndependentOfHistory() {
+		Locale locale = Locale.forLanguageTag("zh-cmn-Hans");
+		LangTag fresh = LangTag.fromLocale(locale);
+		Locales.clear();
+
+		LangTag.parse("zh-cmn-Hans").toLocale();
+		assertEquals(fresh, LangTag.fromLocale(locale));
+		assertEquals(LangTag.parse(locale.toLanguageTag()), fresh);
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class SubtagsTest {
+
+	@Test
+	public void testFind() {
+		assertEquals("en", Subtags.LANGUAGES.find("xx-EN-yy", 3, 5));
+		assertEquals("Latn", Subtags.SCRIPTS.find("LATN", 0, 4));
+		assertEquals("US", Subtags.REGIONS.find("us", 0, 2));
+		assertEquals("419", Subtags.REGIONS.find("es-419", 3, 6));
+		assertNull(Subtags.LANGUAGES.find("qq", 0, 2));
+		assertNull(Subtags.REGIONS.find("en", 0, 1));
+	}
+
+	@Test
+	public void testIntern() {
+		String unknown = "qaa";
+
+		assertSame(Subtags.LANGUAGES.intern("de"), Subtags.LANGUAGES.intern(new String("de")));
+		assertSame(unknown, Subtags.LANGUAGES.intern(unknown));
+	}
+
+	@Test
+	public void testParsedSubtagsShared() {
+		LangTag first = LangTag.parse("en-Latn-US");
+		LangTag second = LangTag.parse("EN-latn-us");
+
+		assertSame(first.primaryLanguage(), second.primaryLanguage());
+		assertSame(first.script(), second.script());
+		assertSame(first.region(), second.region());
+		assertSame(first.primaryLanguage(), LangTag.fromLang("En").primaryLanguage());
+		assertSame(first.region(), new LangTagView().reset("de-us").toLangTag().region());
+	}
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class TaggedNameTest {
+
+	@Test
+	public void testTagged() {
+		TaggedName claim = new TaggedName().reset("given_name#en-us");
+
+		assertTrue(claim.name().contentEquals("given_name"));
+		assertTrue(claim.tag().contentEquals("en-us"));
+		assertTrue(claim.hasTag());
+		assertEquals(LangTag.parse("en-US"), claim.langTag());
+		assertSame(claim.langTag(), claim.langTag());
+	}
+
+	@Test
+	public void testReset() {
+		TaggedName claim = new TaggedName();
+
+		assertEquals(LangTag.parse("de"), claim.reset("name#de").langTag());
+		claim.reset("name");
+		assertTrue(claim.name().contentEquals("name"));
+		assertFalse(claim.hasTag());
+		assertNull(claim.langTag());
+		assertNull(claim.reset("name#").langTag());
+		assertTrue(claim.reset("#").name().contentEquals("#"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidTag() {
+		TaggedName claim = new TaggedName().reset("name#e");
+
+		assertTrue(claim.name().contentEquals("name"));
+		claim.langTag();
+	}
+
+}
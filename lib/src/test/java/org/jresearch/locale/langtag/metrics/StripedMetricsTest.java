@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020, Stanislav Spiridonov
+ */
+
+package org.jresearch.locale.langtag.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.jresearch.locale.langtag.ImmutableLangTag;
+import org.jresearch.locale.langtag.LangTag;
+import org.junit.Test;
+
+/**
+ * Tests the counting metrics.
+ */
+@SuppressWarnings({ "static-method", "nls" })
+public class StripedMetricsTest {
+
+	@Test
+	public void testCounters() {
+		StripedMetrics metrics = new StripedMetrics(true);
+		Metrics.install(metrics);
+		try {
+			LangTag.parse("en-US");
+			LangTag.parse("de");
+			fail("en-US-");
+			fail("en-a");
+			ImmutableLangTag.builder().primaryLanguage("EN").build();
+			fail(() -> ImmutableLangTag.builder().primaryLanguage("en").region("USA").build());
+		} finally {
+			Metrics.uninstall();
+		}
+
+		assertEquals(2, metrics.parses());
+		assertEquals(1, metrics.failures(Failure.TRAILING));
+		assertEquals(1, metrics.failures(Failure.EXTENSION));
+		assertEquals(1, metrics.failures(Failure.REGION));
+		assertEquals(0, metrics.failures(Failure.SCRIPT));
+		assertEquals(1, metrics.normalizations());
+		long timed = 0;
+		for (long count : metrics.parseTimes()) {
+			timed += count;
+		}
+		assertEquals(2, timed);
+	}
+
+	@Test
+	public void testDisabled() {
+		StripedMetrics metrics = new StripedMetrics();
+		Metrics.install(metrics);
+		Metrics.uninstall();
+		assertFalse(Metrics.enabled());
+
+		LangTag.parse("en-US");
+
+		assertEquals(0, metrics.parses());
+		assertEquals(0, metrics.parseTimes().length);
+	}
+
+	@Test
+	public void testBind() {
+		StripedMetrics metrics = new StripedMetrics();
+		Map<String, LongSupplier> registry = new HashMap<>();
+		metrics.bindTo((name, key, value, count) -> registry.put(key == null ? name : name + '|' + value, count));
+
+		metrics.parsed();
+		metrics.failed(Failure.VARIANT);
+		metrics.cacheHit("locale");
+		metrics.cacheHit("locale");
+
+		assertEquals(1, registry.get(StripedMetrics.PARSE).getAsLong());
+		assertEquals(1, registry.get(StripedMetrics.FAILURE + "|variant").getAsLong());
+		assertTrue(registry.containsKey(StripedMetrics.CACHE_HIT + "|locale"));
+		assertEquals(2, registry.get(StripedMetrics.CACHE_HIT + "|locale").getAsLong());
+		assertEquals(2, metrics.cacheHits("locale"));
+		assertEquals(0, metrics.cacheMisses("locale"));
+	}
+
+	@Test
+	public void testBindConcurrently() throws InterruptedException {
+		for (int round = 0; round < 20; round++) {
+			StripedMetrics metrics = new StripedMetrics();
+			Map<String, Integer> registered = new ConcurrentHashMap<>();
+			Thread[] threads = new Thread[4];
+			for (int t = 0; t < threads.length; t++) {
+				int from = t * 100;
+				threads[t] = new Thread(() -> {
+					for (int i = from; i < from + 100; i++) {
+						metrics.cacheHit("cache" + i);
+					}
+				});
+				threads[t].start();
+			}
+			metrics.bindTo((name, key, value, count) -> registered.merge(name + '|' + value, Integer.valueOf(1), Integer::sum));
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			for (int i = 0; i < threads.length * 100; i++) {
+				assertEquals("cache" + i, Integer.valueOf(1), registered.get(StripedMetrics.CACHE_HIT + "|cache" + i));
+			}
+		}
+	}
+
+	private static void fail(String tag) {
+		fail(() -> LangTag.parse(tag));
+	}
+
+	private static void fail(Runnable action) {
+		try {
+			action.run();
+		} catch (IllegalArgumentException e) {
+			return;
+		}
+		throw new AssertionError("No exception");
+	}
+
+}
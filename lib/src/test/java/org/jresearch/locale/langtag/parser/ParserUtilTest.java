@@ -0,0 +1,90 @@
+package org.jresearch.locale.langtag.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests the ASCII parser utilities.
+ */
+@SuppressWarnings({ "static-method", "nls" })
+public class ParserUtilTest {
+
+	@Test
+	public void testCharClasses() {
+		assertTrue(ParserUtil.isAlpha('a'));
+		assertTrue(ParserUtil.isAlpha('Z'));
+		assertFalse(ParserUtil.isAlpha('1'));
+		assertFalse(ParserUtil.isAlpha('\u00e4'));
+		assertTrue(ParserUtil.isNum('0'));
+		assertFalse(ParserUtil.isNum('a'));
+		assertTrue(ParserUtil.isAlphaNum('9'));
+		assertFalse(ParserUtil.isAlphaNum('-'));
+		assertFalse(ParserUtil.isAlphaNum('\u212a'));
+	}
+
+	@Test
+	public void testLow() {
+		assertEquals("en", ParserUtil.low("EN"));
+		assertEquals("abc-1", ParserUtil.low("aBc-1"));
+		String low = "latn";
+		assertSame(low, ParserUtil.low(low));
+		assertTrue(ParserUtil.isLow("u-nu-thai"));
+		assertFalse(ParserUtil.isLow("u-Nu"));
+	}
+
+	@Test
+	public void testUp() {
+		assertEquals("US", ParserUtil.up("us"));
+		assertEquals("419", ParserUtil.up("419"));
+		assertTrue(ParserUtil.isUp("CN"));
+		assertFalse(ParserUtil.isUp("Cn"));
+	}
+
+	@Test
+	public void testTit() {
+		assertEquals("Hans", ParserUtil.tit("hans"));
+		assertEquals("Hans", ParserUtil.tit("HANS"));
+		assertEquals("Hans", ParserUtil.tit("hANS"));
+		String tit = "Latn";
+		assertSame(tit, ParserUtil.tit(tit));
+		assertTrue(ParserUtil.isTit(""));
+		assertFalse(ParserUtil.isTit("LAtn"));
+	}
+
+	@Test
+	public void testRange() {
+		String tag = "zh-Hant-TW-1901";
+		assertTrue(ParserUtil.isAlpha(tag, 3, 7));
+		assertFalse(ParserUtil.isAlpha(tag, 0, 7));
+		assertTrue(ParserUtil.isNum(tag, 11, 15));
+		assertTrue(ParserUtil.isAlphaNum(tag, 8, 10));
+		assertTrue(ParserUtil.isLow(tag, 0, 2));
+		assertFalse(ParserUtil.isLow(tag, 0, 4));
+	}
+
+	@Test
+	public void testRangeCase() {
+		String tag = "zh-Hant-TW-u-CA-Buddhist";
+		assertEquals("hant", ParserUtil.low(tag, 3, 7));
+		assertEquals("ca-buddhist", ParserUtil.low(tag, 13, 24));
+		assertEquals("u-ca-buddhist", ParserUtil.low(new StringBuilder(tag), 11, 24));
+		assertEquals("HANT", ParserUtil.up(tag, 3, 7));
+		assertEquals("Hant", ParserUtil.tit(tag, 3, 7));
+		assertEquals("Ca-buddhist", ParserUtil.tit(tag, 13, 24));
+		String low = "de-at-1901";
+		assertSame(low, ParserUtil.low(low, 0, low.length()));
+	}
+
+	@Test
+	public void testLowerInto() {
+		char[] buf = new char[8];
+		int end = ParserUtil.lowerInto("x-Hant-TW", 2, 9, buf, 1);
+		assertEquals(8, end);
+		assertEquals("hant-tw", new String(buf, 1, end - 1));
+	}
+
+}
@@ -0,0 +1,75 @@
+package org.jresearch.locale.langtag.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
+import java.util.function.IntPredicate;
+
+import org.junit.Test;
+
+/**
+ * Checks the word operations against the per character ones for each ASCII
+ * character at each word position.
+ */
+@SuppressWarnings({ "static-method", "nls" })
+public class SwarTest {
+
+	private static final String[] BASES = { "abcdefgh", "ABCDEFGH", "12345678", "Latn", "us" };
+
+	@Test
+	public void testChecks() {
+		for (String base : BASES) {
+			for (int pos = 0; pos < base.length(); pos++) {
+				for (char c = 0; c < 0x80; c++) {
+					String str = replace(base, pos, c);
+					long word = Swar.load(str, 0, str.length());
+					int len = str.length();
+					assertEquals(str, all(str, Character::isLetter), Swar.isAlpha(word, len));
+					assertEquals(str, all(str, Character::isDigit), Swar.isNum(word, len));
+					assertEquals(str, all(str, Character::isLetterOrDigit), Swar.isAlphaNum(word, len));
+					assertEquals(str, !str.equals(str.toLowerCase(Locale.ROOT)), Swar.hasUp(word));
+					assertEquals(str, !str.equals(str.toUpperCase(Locale.ROOT)), Swar.hasLow(word));
+					assertEquals(str, isTit(str), Swar.isTit(word, len));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testMappings() {
+		for (String base : BASES) {
+			for (int pos = 0; pos < base.length(); pos++) {
+				for (char c = 0; c < 0x80; c++) {
+					String str = replace(base, pos, c);
+					long word = Swar.load(str, 0, str.length());
+					int len = str.length();
+					assertEquals(str.toLowerCase(Locale.ROOT), Swar.toString(Swar.low(word), len));
+					assertEquals(str.toUpperCase(Locale.ROOT), Swar.toString(Swar.up(word), len));
+					assertEquals(str.substring(0, 1).toUpperCase(Locale.ROOT) + str.substring(1).toLowerCase(Locale.ROOT), Swar.toString(Swar.tit(word), len));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testNotAscii() {
+		assertEquals(Swar.NOT_ASCII, Swar.load("d\u00e9", 0, 2));
+		assertFalse(ParserUtil.isAlpha("d\u00e9"));
+		assertTrue(ParserUtil.isLow("d\u00e9"));
+	}
+
+	private static String replace(String base, int pos, char c) {
+		return base.substring(0, pos) + c + base.substring(pos + 1);
+	}
+
+	private static boolean all(String str, IntPredicate check) {
+		return str.chars().allMatch(check);
+	}
+
+	private static boolean isTit(String str) {
+		return Character.isUpperCase(str.charAt(0)) && str.substring(1).chars().allMatch(Character::isLowerCase);
+	}
+
+}
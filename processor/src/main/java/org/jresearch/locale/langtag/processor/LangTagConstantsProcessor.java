@@ -0,0 +1,168 @@
+package org.jresearch.locale.langtag.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic.Kind;
+
+import org.jresearch.locale.langtag.LangTag;
+import org.jresearch.locale.langtag.LangTagConstants;
+import org.jresearch.locale.langtag.LangTagConstantsSupport;
+
+/**
+ * Validates the String constants of the {@link LangTagConstants} interfaces
+ * and generates the classes of the {@link LangTag} constants. Each constant is
+ * parsed and normalized here, at compile time, the generated code only passes
+ * the canonical parts to the unchecked
+ * {@link LangTagConstantsSupport#canonical LangTagConstantsSupport.canonical(...)}
+ * factory.
+ * The generated code uses the {@code java.util} methods supported by GWT only.
+ */
+@SuppressWarnings("nls")
+public class LangTagConstantsProcessor extends AbstractProcessor {
+
+	private static final String SUFFIX = "Tags";
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(LangTagConstants.class.getName());
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		for (Element element : roundEnv.getElementsAnnotatedWith(LangTagConstants.class)) {
+			if (element.getKind() != ElementKind.INTERFACE) {
+				error(element, "@LangTagConstants is applicable to interfaces only");
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			String code = generate(type);
+			if (code != null) {
+				write(type, code);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the generated class source or {@code null} if there are invalid
+	 *         constants
+	 */
+	private String generate(TypeElement type) {
+		String packageName = packageOf(type).getQualifiedName().toString();
+		StringBuilder code = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			code.append("package ").append(packageName).append(";\n\n");
+		}
+		code.append("/** Generated from {@link ").append(type.getQualifiedName()).append("} */\n")
+				.append("public final class ").append(className(type)).append(" {\n\n");
+		boolean valid = true;
+		for (Element member : type.getEnclosedElements()) {
+			if (member.getKind() != ElementKind.FIELD) {
+				continue;
+			}
+			VariableElement field = (VariableElement) member;
+			Object value = field.getConstantValue();
+			if (!(value instanceof String)) {
+				error(field, "@LangTagConstants field must be a String constant");
+				valid = false;
+				continue;
+			}
+			LangTag tag;
+			try {
+				tag = LangTagConstantsSupport.read((String) value);
+			} catch (IllegalArgumentException e) {
+				error(field, "Invalid language tag \"" + value + "\": " + e.getMessage());
+				valid = false;
+				continue;
+			}
+			code.append("\t/** {@code ").append(tag).append("} */\n")
+					.append("\tpublic static final org.jresearch.locale.langtag.LangTag ").append(field.getSimpleName()).append(" = ")
+					.append(create(tag)).append(";\n\n");
+		}
+		code.append("\tprivate ").append(className(type)).append("() {\n\t\t// constants only\n\t}\n\n}\n");
+		return valid ? code.toString() : null;
+	}
+
+	private static String create(LangTag tag) {
+		return new StringBuilder("org.jresearch.locale.langtag.LangTagConstantsSupport.canonical(")
+				.append(literal(tag.primaryLanguage())).append(", ")
+				.append(list(tag.languageSubtags())).append(", ")
+				.append(literal(tag.script())).append(", ")
+				.append(literal(tag.region())).append(", ")
+				.append(list(tag.variants())).append(", ")
+				.append(list(tag.extensions())).append(", ")
+				.append(literal(tag.privateUse())).append(')').toString();
+	}
+
+	private static String list(List<String> values) {
+		if (values.isEmpty()) {
+			return "java.util.Collections.<String> emptyList()";
+		}
+		StringBuilder code = new StringBuilder("java.util.Arrays.asList(");
+		for (int i = 0; i < values.size(); i++) {
+			code.append(i == 0 ? "" : ", ").append(literal(values.get(i)));
+		}
+		return code.append(')').toString();
+	}
+
+	/** The canonical subtags are ASCII letters, digits and '-', no escaping */
+	private static String literal(String value) {
+		return '"' + value + '"';
+	}
+
+	/**
+	 * @return the annotation value or the binary name without the package and
+	 *         with '_' instead of '$' plus the suffix, e.g.
+	 *         {@code Outer_InnerTags}
+	 */
+	private String className(TypeElement type) {
+		String name = type.getAnnotation(LangTagConstants.class).value();
+		if (!name.isEmpty()) {
+			return name;
+		}
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String packageName = packageOf(type).getQualifiedName().toString();
+		String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+		return simpleName.replace('$', '_') + SUFFIX;
+	}
+
+	private static PackageElement packageOf(Element element) {
+		Element current = element;
+		while (current.getKind() != ElementKind.PACKAGE) {
+			current = current.getEnclosingElement();
+		}
+		return (PackageElement) current;
+	}
+
+	private void write(TypeElement type, String code) {
+		String packageName = packageOf(type).getQualifiedName().toString();
+		String name = packageName.isEmpty() ? className(type) : packageName + '.' + className(type);
+		try (Writer writer = processingEnv.getFiler().createSourceFile(name, type).openWriter()) {
+			writer.write(code);
+		} catch (IOException e) {
+			error(type, "Can't write " + name + ": " + e.getMessage());
+		}
+	}
+
+	private void error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+	}
+
+}
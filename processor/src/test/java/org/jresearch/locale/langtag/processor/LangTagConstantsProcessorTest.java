@@ -0,0 +1,141 @@
+package org.jresearch.locale.langtag.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.jresearch.locale.langtag.ImmutableLangTag;
+import org.jresearch.locale.langtag.LangTag;
+import org.junit.Test;
+
+@SuppressWarnings({ "static-method", "nls" })
+public class LangTagConstantsProcessorTest {
+
+	@Test
+	public void testGenerate() throws Exception {
+		Path dir = Files.createTempDirectory("constants");
+		try {
+			StringWriter out = new StringWriter();
+			assertTrue(out.toString(), compile(dir, out, "package test;\n"
+					+ "@org.jresearch.locale.langtag.LangTagConstants\n"
+					+ "public interface Languages {\n"
+					+ "	String DE_AT = \"de-at\";\n"
+					+ "	String ZH = \"ZH-cmn-hans-cn-u-nu-hanidec\";\n"
+					+ "}\n"));
+
+			try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, getClass().getClassLoader())) {
+				Class<?> tags = loader.loadClass("test.LanguagesTags");
+				assertEquals(LangTag.parse("de-AT"), tags.getField("DE_AT").get(null));
+				assertEquals(LangTag.parse("zh-cmn-Hans-CN-u-nu-hanidec"), tags.getField("ZH").get(null));
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	public void testPrivateUseOnly() throws Exception {
+		Path dir = Files.createTempDirectory("constants");
+		try {
+			StringWriter out = new StringWriter();
+			assertTrue(out.toString(), compile(dir, out, "package test;\n"
+					+ "@org.jresearch.locale.langtag.LangTagConstants\n"
+					+ "public interface Languages {\n"
+					+ "	String FOO = \"X-Foo\";\n"
+					+ "}\n"));
+
+			try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, getClass().getClassLoader())) {
+				Object foo = loader.loadClass("test.LanguagesTags").getField("FOO").get(null);
+				assertEquals(ImmutableLangTag.builder().privateUse("x-foo").build(), foo);
+				assertEquals("x-foo", foo.toString());
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	public void testNested() throws Exception {
+		Path dir = Files.createTempDirectory("constants");
+		try {
+			StringWriter out = new StringWriter();
+			assertTrue(out.toString(), compile(dir, out, "package test;\n"
+					+ "public interface Languages {\n"
+					+ "	@org.jresearch.locale.langtag.LangTagConstants\n"
+					+ "	interface Codes {\n"
+					+ "		String DE = \"de\";\n"
+					+ "	}\n"
+					+ "	interface Other {\n"
+					+ "		@org.jresearch.locale.langtag.LangTagConstants\n"
+					+ "		interface Codes {\n"
+					+ "			String EN = \"en\";\n"
+					+ "		}\n"
+					+ "	}\n"
+					+ "}\n"));
+
+			try (URLClassLoader loader = new URLClassLoader(new URL[] { dir.toUri().toURL() }, getClass().getClassLoader())) {
+				assertEquals(LangTag.parse("de"), loader.loadClass("test.Languages_CodesTags").getField("DE").get(null));
+				assertEquals(LangTag.parse("en"), loader.loadClass("test.Languages_Other_CodesTags").getField("EN").get(null));
+			}
+		} finally {
+			delete(dir);
+		}
+	}
+
+	@Test
+	public void testInvalid() throws IOException {
+		Path dir = Files.createTempDirectory("constants");
+		try {
+			StringWriter out = new StringWriter();
+			assertFalse(compile(dir, out, "package test;\n"
+					+ "@org.jresearch.locale.langtag.LangTagConstants(\"Bad\")\n"
+					+ "public interface Languages {\n"
+					+ "	String BAD = \"en-\";\n"
+					+ "}\n"));
+			assertTrue(out.toString(), out.toString().contains("Invalid language tag \"en-\""));
+			assertFalse(Files.exists(dir.resolve("test/Bad.java")));
+		} finally {
+			delete(dir);
+		}
+	}
+
+	private static boolean compile(Path dir, StringWriter out, String source) throws IOException {
+		Path file = dir.resolve("test/Languages.java");
+		Files.createDirectories(file.getParent());
+		Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+			Iterable<? extends JavaFileObject> units = files.getJavaFileObjects(file.toFile());
+			CompilationTask task = compiler.getTask(out, files, null,
+					Arrays.asList("-d", dir.toString(), "-s", dir.toString(), "-classpath", System.getProperty("java.class.path")), null, units);
+			task.setProcessors(Collections.singletonList(new LangTagConstantsProcessor()));
+			return task.call().booleanValue();
+		}
+	}
+
+	private static void delete(Path dir) throws IOException {
+		try (Stream<Path> paths = Files.walk(dir)) {
+			paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+		}
+	}
+
+}